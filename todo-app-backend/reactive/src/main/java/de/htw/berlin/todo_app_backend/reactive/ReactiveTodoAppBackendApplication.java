@@ -0,0 +1,13 @@
+package de.htw.berlin.todo_app_backend.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveTodoAppBackendApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveTodoAppBackendApplication.class, args);
+	}
+
+}
@@ -0,0 +1,21 @@
+package de.htw.berlin.todo_app_backend.reactive.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+@Configuration
+public class WebConfig implements WebFluxConfigurer {
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/**")
+                .allowedOrigins(
+                        "https://webtechnologien2025-frontend-7qhu.onrender.com",
+                        "https://webtechnologien2025-te9p.onrender.com/",
+                        "http://localhost:5173",
+                        "http://localhost:3000"
+                )
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                .allowedHeaders("*");
+    }
+}
@@ -0,0 +1,39 @@
+package de.htw.berlin.todo_app_backend.reactive.controller;
+
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.reactive.service.CategoryService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/categories")
+@AllArgsConstructor
+public class CategoryController {
+
+    private final CategoryService service;
+
+    @GetMapping
+    public Flux<CategoryDTO> getAllCategories() {
+        return service.getAll();
+    }
+
+    @PostMapping
+    public Mono<CategoryDTO> createCategory(@Valid @RequestBody CategoryDTO categoryDto) {
+        categoryDto.setId(null);
+        return service.save(categoryDto);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<CategoryDTO> updateCategory(@PathVariable Long id, @Valid @RequestBody CategoryDTO categoryDto) {
+        categoryDto.setId(id);
+        return service.save(categoryDto);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteCategory(@PathVariable Long id) {
+        return service.delete(id);
+    }
+}
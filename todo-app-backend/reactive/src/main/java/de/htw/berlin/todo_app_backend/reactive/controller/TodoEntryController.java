@@ -0,0 +1,106 @@
+package de.htw.berlin.todo_app_backend.reactive.controller;
+
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryPageDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryPatchDTO;
+import de.htw.berlin.todo_app_backend.reactive.service.ToDoEntryService;
+import de.htw.berlin.todo_app_backend.util.CursorCodec;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/todos")
+@AllArgsConstructor
+public class TodoEntryController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final ToDoEntryService service;
+
+    // Encoded element by element as a JSON array (or NDJSON), so the result is never buffered as a whole
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ToDoEntryDTO> getAllTodos(@RequestParam(defaultValue = "false") boolean includeArchived) {
+        return service.getAllDtos(includeArchived);
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<ToDoEntryPageDTO> getTodoPage(@RequestParam(required = false) String after, @RequestParam int limit,
+                                              @RequestParam(defaultValue = "false") boolean includeArchived) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Long afterId = after != null ? CursorCodec.decode(after) : null;
+
+        return service.getDtoPage(afterId, pageSize + 1, includeArchived)
+                .collectList()
+                .map(entries -> {
+                    boolean hasMore = entries.size() > pageSize;
+                    List<ToDoEntryDTO> items = hasMore ? entries.subList(0, pageSize) : entries;
+                    String nextCursor = hasMore ? CursorCodec.encode(items.get(items.size() - 1).getId()) : null;
+                    return new ToDoEntryPageDTO(items, nextCursor);
+                });
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<ToDoEntryDTO> exportTodos() {
+        return service.streamAllDtos();
+    }
+
+    @GetMapping(value = "/export", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ToDoEntryDTO> exportTodosAsNdjson() {
+        return service.streamAllDtos();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ToDoEntryDTO> getTodoById(@PathVariable Long id) {
+        return service.getById(id);
+    }
+
+    @PostMapping
+    public Mono<ToDoEntryDTO> createTodo(@Valid @RequestBody ToDoEntryDTO entryDto) {
+        entryDto.setId(null);
+        return service.save(entryDto);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ToDoEntryDTO> updateTodo(@PathVariable Long id, @Valid @RequestBody ToDoEntryDTO entryDto) {
+        entryDto.setId(id);
+        return service.save(entryDto);
+    }
+
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> patchTodo(@PathVariable Long id, @Valid @RequestBody ToDoEntryPatchDTO patchDto) {
+        return service.patch(id, patchDto);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteTodo(@PathVariable Long id) {
+        return service.delete(id);
+    }
+
+    @PostMapping("/batch")
+    public Flux<ToDoEntryDTO> createTodos(
+            @RequestBody @Size(max = MAX_BATCH_SIZE) List<@Valid ToDoEntryDTO> entryDtos) {
+        return service.createAll(entryDtos);
+    }
+
+    @PutMapping("/batch")
+    public Flux<ToDoEntryDTO> updateTodos(
+            @RequestBody @Size(max = MAX_BATCH_SIZE) List<@Valid ToDoEntryDTO> entryDtos) {
+        return service.updateAll(entryDtos);
+    }
+
+    @DeleteMapping("/batch")
+    public Mono<Void> deleteTodos(@RequestBody @Size(max = MAX_BATCH_SIZE) List<@NotNull Long> ids) {
+        return service.deleteAll(ids);
+    }
+}
@@ -0,0 +1,22 @@
+package de.htw.berlin.todo_app_backend.reactive.domain;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("category")
+@Data
+@NoArgsConstructor
+public class CategoryRow implements ChangeTrackedRow {
+
+    @Id
+    private Long id;
+    private String name;
+    private String colorHex;
+    @Version
+    private Long version;
+    private Long changeSeq;
+    private boolean deleted;
+}
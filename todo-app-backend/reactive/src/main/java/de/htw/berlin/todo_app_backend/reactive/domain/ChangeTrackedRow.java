@@ -0,0 +1,7 @@
+package de.htw.berlin.todo_app_backend.reactive.domain;
+
+// Rows stamped from the change_seq sequence on every write, like the servlet backend's ChangeTracked entities
+public interface ChangeTrackedRow {
+
+    void setChangeSeq(Long changeSeq);
+}
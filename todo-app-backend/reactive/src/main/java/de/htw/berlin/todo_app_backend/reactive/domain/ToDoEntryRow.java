@@ -0,0 +1,33 @@
+package de.htw.berlin.todo_app_backend.reactive.domain;
+
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@Table("to_do_entry")
+@Data
+@NoArgsConstructor
+public class ToDoEntryRow implements ChangeTrackedRow {
+
+    @Id
+    private Long id;
+    private String title;
+    private String description;
+    private boolean done;
+    private LocalDate dueDate;
+    private Priority priority;
+    private Long categoryId;
+    private OffsetDateTime createdAt;
+    @Version
+    private Long version;
+    private Long changeSeq;
+    private boolean deleted;
+    private OffsetDateTime completedAt;
+    private boolean archived;
+}
@@ -0,0 +1,29 @@
+package de.htw.berlin.todo_app_backend.reactive.repository;
+
+import de.htw.berlin.todo_app_backend.reactive.domain.CategoryRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface CategoryRowRepository extends ReactiveCrudRepository<CategoryRow, Long> {
+
+    Flux<CategoryRow> findAllByDeletedFalseOrderByIdDesc();
+
+    Mono<CategoryRow> findByIdAndDeletedFalse(Long id);
+
+    // Writes that link todos hold the row shared and deletes hold it exclusively, as in the servlet backend, so a
+    // link never points at a category deleted in the meantime
+    @Query("select * from category where id = :id and deleted = false for share")
+    Mono<CategoryRow> lockSharedById(Long id);
+
+    @Query("select * from category where id = :id and deleted = false for update")
+    Mono<CategoryRow> lockById(Long id);
+
+    @Modifying
+    @Query("update category set deleted = true, version = version + 1, change_seq = :changeSeq where id = :id")
+    Mono<Integer> softDeleteById(Long id, long changeSeq);
+}
@@ -0,0 +1,22 @@
+package de.htw.berlin.todo_app_backend.reactive.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// The change_seq values the servlet backend stamps on every write; stamping one also records the writing transaction,
+// which is what that backend's delta sync orders by. It takes blocks of 50, each keyed by one sequence value, so a
+// freshly drawn value is used directly, as ToDoEntryIdCallback does for ids.
+@Component
+@AllArgsConstructor
+public class ChangeSequence {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Long> next() {
+        return databaseClient.sql("select nextval('change_seq')")
+                .map(result -> result.get(0, Long.class))
+                .one();
+    }
+}
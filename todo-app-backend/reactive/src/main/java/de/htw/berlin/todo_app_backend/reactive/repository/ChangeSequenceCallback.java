@@ -0,0 +1,24 @@
+package de.htw.berlin.todo_app_backend.reactive.repository;
+
+import de.htw.berlin.todo_app_backend.reactive.domain.ChangeTrackedRow;
+import lombok.AllArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.stereotype.Component;
+
+// Stamps every saved row, as the servlet backend's ChangeSequenceListener does on persist and update
+@Component
+@AllArgsConstructor
+public class ChangeSequenceCallback implements BeforeConvertCallback<ChangeTrackedRow> {
+
+    private final ChangeSequence changeSequence;
+
+    @Override
+    public Publisher<ChangeTrackedRow> onBeforeConvert(ChangeTrackedRow row, SqlIdentifier table) {
+        return changeSequence.next().map(changeSeq -> {
+            row.setChangeSeq(changeSeq);
+            return row;
+        });
+    }
+}
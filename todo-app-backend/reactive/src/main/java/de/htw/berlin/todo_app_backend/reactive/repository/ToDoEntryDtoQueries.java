@@ -0,0 +1,86 @@
+package de.htw.berlin.todo_app_backend.reactive.repository;
+
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+// Reads todos joined with their category straight into the shared DTO, mirroring the JPA projection. Like the
+// servlet backend's entities, it leaves out soft-deleted rows, and the lists leave out archived todos unless asked.
+@Repository
+@AllArgsConstructor
+public class ToDoEntryDtoQueries {
+
+    private static final String DTO_PROJECTION = "select t.id, t.title, t.description, t.done, t.due_date, t.priority, "
+            + "t.created_at, t.version, c.id as category_id, c.name as category_name, "
+            + "c.color_hex as category_color_hex, c.version as category_version "
+            + "from to_do_entry t left join category c on c.id = t.category_id and c.deleted = false "
+            + "where t.deleted = false ";
+    // A literal, so the list only touches the active partition
+    private static final String UNARCHIVED = "and t.archived = false ";
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<ToDoEntryDTO> findAll(boolean includeArchived) {
+        return databaseClient.sql(DTO_PROJECTION + (includeArchived ? "" : UNARCHIVED) + "order by t.id desc")
+                .map(ToDoEntryDtoQueries::toDto)
+                .all();
+    }
+
+    public Flux<ToDoEntryDTO> findBelowId(long id, int limit, boolean includeArchived) {
+        return databaseClient.sql(DTO_PROJECTION + (includeArchived ? "" : UNARCHIVED)
+                        + "and t.id < :id order by t.id desc limit :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ToDoEntryDtoQueries::toDto)
+                .all();
+    }
+
+    public Mono<ToDoEntryDTO> findById(long id) {
+        return databaseClient.sql(DTO_PROJECTION + "and t.id = :id")
+                .bind("id", id)
+                .map(ToDoEntryDtoQueries::toDto)
+                .one();
+    }
+
+    public Flux<ToDoEntryDTO> findAllById(Collection<Long> ids) {
+        return databaseClient.sql(DTO_PROJECTION + "and t.id in (:ids) order by t.id")
+                .bind("ids", ids)
+                .map(ToDoEntryDtoQueries::toDto)
+                .all();
+    }
+
+    // Rows are pulled from the server in chunks as the subscriber requests them
+    public Flux<ToDoEntryDTO> streamAll() {
+        return databaseClient.sql(DTO_PROJECTION + "order by t.id")
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE))
+                .map(ToDoEntryDtoQueries::toDto)
+                .all();
+    }
+
+    private static ToDoEntryDTO toDto(Readable row) {
+        String priority = row.get("priority", String.class);
+        return new ToDoEntryDTO(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                Boolean.TRUE.equals(row.get("done", Boolean.class)),
+                row.get("due_date", LocalDate.class),
+                priority != null ? Priority.valueOf(priority) : null,
+                row.get("created_at", OffsetDateTime.class),
+                row.get("version", Long.class),
+                row.get("category_id", Long.class),
+                row.get("category_name", String.class),
+                row.get("category_color_hex", String.class),
+                row.get("category_version", Long.class));
+    }
+}
@@ -0,0 +1,33 @@
+package de.htw.berlin.todo_app_backend.reactive.repository;
+
+import de.htw.berlin.todo_app_backend.reactive.domain.ToDoEntryRow;
+import lombok.AllArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// The servlet backend takes ids from todo_entry_seq in pooled blocks of 50, each keyed by one sequence value.
+// Using a freshly drawn value directly as the id therefore stays outside every block Hibernate hands out.
+@Component
+@AllArgsConstructor
+public class ToDoEntryIdCallback implements BeforeConvertCallback<ToDoEntryRow> {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Publisher<ToDoEntryRow> onBeforeConvert(ToDoEntryRow row, SqlIdentifier table) {
+        if (row.getId() != null) {
+            return Mono.just(row);
+        }
+        return databaseClient.sql("select nextval('todo_entry_seq')")
+                .map(result -> result.get(0, Long.class))
+                .one()
+                .map(id -> {
+                    row.setId(id);
+                    return row;
+                });
+    }
+}
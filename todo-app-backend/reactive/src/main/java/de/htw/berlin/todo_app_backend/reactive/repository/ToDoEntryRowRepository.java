@@ -0,0 +1,30 @@
+package de.htw.berlin.todo_app_backend.reactive.repository;
+
+import de.htw.berlin.todo_app_backend.reactive.domain.ToDoEntryRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+// Deleted todos stay behind as tombstones for the servlet backend's delta sync, so every read skips them
+@Repository
+public interface ToDoEntryRowRepository extends ReactiveCrudRepository<ToDoEntryRow, Long> {
+
+    Mono<ToDoEntryRow> findByIdAndDeletedFalse(Long id);
+
+    Flux<ToDoEntryRow> findAllByIdInAndDeletedFalse(Collection<Long> ids);
+
+    @Modifying
+    @Query("update to_do_entry set category_id = null, version = version + 1, change_seq = :changeSeq "
+            + "where category_id = :categoryId")
+    Mono<Integer> clearCategory(Long categoryId, long changeSeq);
+
+    @Modifying
+    @Query("update to_do_entry set deleted = true, category_id = null, version = version + 1, change_seq = :changeSeq "
+            + "where id in (:ids) and deleted = false")
+    Mono<Integer> softDeleteAllById(Collection<Long> ids, long changeSeq);
+}
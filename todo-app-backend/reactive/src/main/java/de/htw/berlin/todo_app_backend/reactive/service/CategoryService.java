@@ -0,0 +1,68 @@
+package de.htw.berlin.todo_app_backend.reactive.service;
+
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.exception.CategoryNotFoundException;
+import de.htw.berlin.todo_app_backend.reactive.domain.CategoryRow;
+import de.htw.berlin.todo_app_backend.reactive.repository.CategoryRowRepository;
+import de.htw.berlin.todo_app_backend.reactive.repository.ChangeSequence;
+import de.htw.berlin.todo_app_backend.reactive.repository.ToDoEntryRowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class CategoryService {
+
+    @Autowired
+    private CategoryRowRepository repo;
+    @Autowired
+    private ToDoEntryRowRepository todoEntryRepository;
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    public Flux<CategoryDTO> getAll() {
+        return repo.findAllByDeletedFalseOrderByIdDesc().map(CategoryService::toDto);
+    }
+
+    @Transactional
+    public Mono<CategoryDTO> save(CategoryDTO category) {
+        if (category.getId() == null) {
+            CategoryRow row = new CategoryRow();
+            row.setName(category.getName());
+            row.setColorHex(category.getColorHex());
+            return repo.save(row).map(CategoryService::toDto);
+        }
+        return repo.findByIdAndDeletedFalse(category.getId())
+                .switchIfEmpty(Mono.error(CategoryNotFoundException::new))
+                .flatMap(current -> {
+                    checkVersion(category.getVersion(), current.getVersion());
+                    current.setName(category.getName());
+                    current.setColorHex(category.getColorHex());
+                    return repo.save(current);
+                })
+                .map(CategoryService::toDto);
+    }
+
+    // Soft delete under the row lock, so writes linking todos to the category wait and then see it gone
+    @Transactional
+    public Mono<Void> delete(Long id) {
+        return repo.lockById(id)
+                .flatMap(current -> changeSequence.next())
+                .flatMap(changeSeq -> todoEntryRepository.clearCategory(id, changeSeq)
+                        .then(repo.softDeleteById(id, changeSeq)))
+                .then();
+    }
+
+    private void checkVersion(Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new OptimisticLockingFailureException("Category was modified concurrently");
+        }
+    }
+
+    private static CategoryDTO toDto(CategoryRow row) {
+        return new CategoryDTO(row.getId(), row.getName(), row.getColorHex(), row.getVersion());
+    }
+}
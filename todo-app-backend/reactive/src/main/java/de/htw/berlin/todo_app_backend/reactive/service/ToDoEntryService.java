@@ -0,0 +1,213 @@
+package de.htw.berlin.todo_app_backend.reactive.service;
+
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryPatchDTO;
+import de.htw.berlin.todo_app_backend.exception.CategoryNotFoundException;
+import de.htw.berlin.todo_app_backend.reactive.domain.ToDoEntryRow;
+import de.htw.berlin.todo_app_backend.reactive.repository.CategoryRowRepository;
+import de.htw.berlin.todo_app_backend.reactive.repository.ChangeSequence;
+import de.htw.berlin.todo_app_backend.reactive.repository.ToDoEntryDtoQueries;
+import de.htw.berlin.todo_app_backend.reactive.repository.ToDoEntryRowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+@Service
+public class ToDoEntryService {
+
+    @Autowired
+    private ToDoEntryRowRepository repo;
+    @Autowired
+    private ToDoEntryDtoQueries queries;
+    @Autowired
+    private CategoryRowRepository categoryRepository;
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    public Flux<ToDoEntryDTO> getAllDtos(boolean includeArchived) {
+        return queries.findAll(includeArchived);
+    }
+
+    public Flux<ToDoEntryDTO> getDtoPage(Long afterId, int limit, boolean includeArchived) {
+        return queries.findBelowId(afterId != null ? afterId : Long.MAX_VALUE, limit, includeArchived);
+    }
+
+    public Flux<ToDoEntryDTO> streamAllDtos() {
+        return queries.streamAll();
+    }
+
+    public Mono<ToDoEntryDTO> getById(Long id) {
+        return queries.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Todo not found")));
+    }
+
+    @Transactional
+    public Mono<ToDoEntryDTO> save(ToDoEntryDTO entry) {
+        if (entry.getId() == null) {
+            ToDoEntryRow row = newRow(entry, OffsetDateTime.now(ZoneId.of("Europe/Berlin")));
+            return lockForLinking(row.getCategoryId(), null)
+                    .then(Mono.defer(() -> repo.save(row)))
+                    .flatMap(saved -> queries.findById(saved.getId()));
+        }
+        return findRow(entry.getId())
+                .flatMap(current -> {
+                    checkVersion(entry.getVersion(), current.getVersion());
+                    Long linkedBefore = current.getCategoryId();
+                    applyChanges(entry, current, OffsetDateTime.now(ZoneId.of("Europe/Berlin")));
+                    return lockForLinking(current.getCategoryId(), linkedBefore).then(repo.save(current));
+                })
+                .flatMap(saved -> queries.findById(saved.getId()));
+    }
+
+    @Transactional
+    public Mono<Void> patch(Long id, ToDoEntryPatchDTO patch) {
+        return findRow(id)
+                .flatMap(current -> {
+                    Long linkedBefore = current.getCategoryId();
+                    if (patch.getTitle() != null) {
+                        current.setTitle(patch.getTitle());
+                    }
+                    if (patch.getDescription() != null) {
+                        current.setDescription(patch.getDescription());
+                    }
+                    if (patch.getDone() != null) {
+                        if (patch.getDone() && current.getCompletedAt() == null) {
+                            current.setCompletedAt(OffsetDateTime.now(ZoneId.of("Europe/Berlin")));
+                        } else if (!patch.getDone()) {
+                            // Reopening an archived todo moves it back to the active partition
+                            current.setCompletedAt(null);
+                            current.setArchived(false);
+                        }
+                        current.setDone(patch.getDone());
+                    }
+                    if (patch.getDueDate() != null) {
+                        current.setDueDate(patch.getDueDate());
+                    }
+                    if (patch.getPriority() != null) {
+                        current.setPriority(patch.getPriority());
+                    }
+                    if (patch.getCategoryId() != null) {
+                        current.setCategoryId(patch.getCategoryId());
+                    }
+                    return lockForLinking(current.getCategoryId(), linkedBefore).then(repo.save(current));
+                })
+                .then();
+    }
+
+    public Mono<Void> delete(Long id) {
+        return deleteAll(List.of(id));
+    }
+
+    @Transactional
+    public Flux<ToDoEntryDTO> createAll(List<ToDoEntryDTO> entries) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneId.of("Europe/Berlin"));
+        List<ToDoEntryRow> rows = entries.stream().map(entry -> newRow(entry, now)).toList();
+        List<Long> categoryIds = rows.stream()
+                .map(ToDoEntryRow::getCategoryId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return Flux.fromIterable(categoryIds)
+                .concatMap(categoryId -> lockForLinking(categoryId, null))
+                .thenMany(Flux.fromIterable(rows))
+                .concatMap(repo::save)
+                .map(ToDoEntryRow::getId)
+                .collectList()
+                .flatMapMany(this::findDtos);
+    }
+
+    @Transactional
+    public Flux<ToDoEntryDTO> updateAll(List<ToDoEntryDTO> entries) {
+        List<Long> ids = entries.stream().map(ToDoEntryDTO::getId).toList();
+        OffsetDateTime now = OffsetDateTime.now(ZoneId.of("Europe/Berlin"));
+        return repo.findAllByIdInAndDeletedFalse(ids)
+                .collectMap(ToDoEntryRow::getId, Function.identity())
+                .flatMapMany(existing -> Flux.fromIterable(entries)
+                        .concatMap(entry -> {
+                            ToDoEntryRow current = existing.get(entry.getId());
+                            if (current == null) {
+                                return Mono.error(new RuntimeException("Todo not found"));
+                            }
+                            checkVersion(entry.getVersion(), current.getVersion());
+                            Long linkedBefore = current.getCategoryId();
+                            applyChanges(entry, current, now);
+                            return lockForLinking(current.getCategoryId(), linkedBefore).then(repo.save(current));
+                        }))
+                .then(Mono.just(ids))
+                .flatMapMany(this::findDtos);
+    }
+
+    // Soft delete: the rows stay behind as tombstones for the servlet backend's delta sync
+    public Mono<Void> deleteAll(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return changeSequence.next()
+                .flatMap(changeSeq -> repo.softDeleteAllById(ids, changeSeq))
+                .then();
+    }
+
+    private Flux<ToDoEntryDTO> findDtos(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        // Keep the request order, like the servlet backend does
+        return queries.findAllById(ids)
+                .collectMap(ToDoEntryDTO::getId, Function.identity())
+                .flatMapIterable(byId -> ids.stream().map(byId::get).toList());
+    }
+
+    private Mono<ToDoEntryRow> findRow(Long id) {
+        return repo.findByIdAndDeletedFalse(id)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Todo not found")));
+    }
+
+    // A newly linked category is held shared until the write commits, so a concurrent delete either waits for it
+    // and unlinks the todo, or has already committed and the link is refused
+    private Mono<Void> lockForLinking(Long categoryId, Long linkedBefore) {
+        if (categoryId == null || categoryId.equals(linkedBefore)) {
+            return Mono.empty();
+        }
+        return categoryRepository.lockSharedById(categoryId)
+                .switchIfEmpty(Mono.error(CategoryNotFoundException::new))
+                .then();
+    }
+
+    private void checkVersion(Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new OptimisticLockingFailureException("Todo was modified concurrently");
+        }
+    }
+
+    private ToDoEntryRow newRow(ToDoEntryDTO entry, OffsetDateTime now) {
+        ToDoEntryRow row = new ToDoEntryRow();
+        row.setCreatedAt(now);
+        applyChanges(entry, row, now);
+        return row;
+    }
+
+    private void applyChanges(ToDoEntryDTO source, ToDoEntryRow target, OffsetDateTime now) {
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        if (source.isDone() && !target.isDone()) {
+            target.setCompletedAt(now);
+        } else if (!source.isDone()) {
+            // Reopening an archived todo moves it back to the active partition
+            target.setCompletedAt(null);
+            target.setArchived(false);
+        }
+        target.setDone(source.isDone());
+        target.setDueDate(source.getDueDate());
+        target.setPriority(source.getPriority());
+        target.setCategoryId(source.getCategory() != null ? source.getCategory().getId() : null);
+    }
+}
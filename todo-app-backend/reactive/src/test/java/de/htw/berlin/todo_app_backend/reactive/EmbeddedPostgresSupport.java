@@ -0,0 +1,38 @@
+package de.htw.berlin.todo_app_backend.reactive;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+
+// Starts one PostgreSQL server per JVM, like the servlet module's tests do. The schema comes from that module's
+// Flyway migrations, run over JDBC before the R2DBC repositories are used. The contract tests already extend their
+// contract, so they call in from their own @BeforeAll and @DynamicPropertySource methods.
+final class EmbeddedPostgresSupport {
+
+    private static EmbeddedPostgres postgres;
+    private static Throwable startFailure;
+
+    private EmbeddedPostgresSupport() {
+    }
+
+    static synchronized void assumeStarted() {
+        if (postgres == null && startFailure == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException | RuntimeException ex) {
+                startFailure = ex;
+            }
+        }
+        Assumptions.assumeTrue(postgres != null, () -> "Embedded PostgreSQL unavailable: " + startFailure);
+    }
+
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "");
+        registry.add("spring.flyway.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.flyway.user", () -> "postgres");
+    }
+}
@@ -0,0 +1,44 @@
+package de.htw.berlin.todo_app_backend.reactive;
+
+import de.htw.berlin.todo_app_backend.contract.TodoApiContractTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class TodoApiReactiveContractTest extends TodoApiContractTest {
+
+    @BeforeAll
+    static void startPostgres() {
+        EmbeddedPostgresSupport.assumeStarted();
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerProperties(registry);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Override
+    protected WebTestClient client() {
+        return webTestClient;
+    }
+
+    @Override
+    protected void deleteAllData() {
+        databaseClient.sql("delete from to_do_entry").then()
+                .then(databaseClient.sql("delete from category").then())
+                .block();
+    }
+}
@@ -0,0 +1,145 @@
+package de.htw.berlin.todo_app_backend.reactive;
+
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Writes of the reactive variant must leave the rows the servlet backend's delta sync and archive rely on
+@SpringBootTest
+@AutoConfigureWebTestClient
+class TodoSoftDeleteReactiveTest {
+
+    @BeforeAll
+    static void startPostgres() {
+        EmbeddedPostgresSupport.assumeStarted();
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerProperties(registry);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("delete from to_do_entry").then()
+                .then(databaseClient.sql("delete from category").then())
+                .block();
+    }
+
+    @Test
+    void deleteTodo_leavesATombstoneWithAChangeSeq() {
+        ToDoEntryDTO todo = createTodo("Gone", null);
+        long createdSeq = (Long) row(todo.getId()).get("change_seq");
+
+        webTestClient.delete().uri("/todos/{id}", todo.getId())
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+
+        Map<String, Object> tombstone = row(todo.getId());
+        assertThat(createdSeq).isPositive();
+        assertThat(tombstone.get("deleted")).isEqualTo(true);
+        assertThat((Long) tombstone.get("change_seq")).isGreaterThan(createdSeq);
+        webTestClient.get().uri("/todos")
+                .exchange()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+    }
+
+    @Test
+    void deleteCategory_unlinksTodos_andRefusesNewLinks() {
+        CategoryDTO category = webTestClient.post().uri("/categories")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CategoryDTO(null, "Work", "#112233", null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CategoryDTO.class)
+                .returnResult().getResponseBody();
+        ToDoEntryDTO todo = createTodo("Linked", category);
+
+        webTestClient.delete().uri("/categories/{id}", category.getId())
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+
+        assertThat(row(todo.getId()).get("category_id")).isNull();
+        assertThat(databaseClient.sql("select deleted from category where id = :id")
+                .bind("id", category.getId())
+                .map(result -> result.get("deleted", Boolean.class))
+                .one().block()).isTrue();
+        webTestClient.get().uri("/categories")
+                .exchange()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+        webTestClient.patch().uri("/todos/{id}", todo.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("categoryId", category.getId()))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void list_leavesArchivedTodosOut_andReopeningUnarchives() {
+        ToDoEntryDTO open = createTodo("Open", null);
+        ToDoEntryDTO archived = createTodo("Archived", null);
+        databaseClient.sql("update to_do_entry set done = true, completed_at = now(), archived = true where id = :id")
+                .bind("id", archived.getId())
+                .then().block();
+
+        webTestClient.get().uri("/todos")
+                .exchange()
+                .expectBody()
+                .jsonPath("$[*].id").isEqualTo(open.getId().intValue());
+        webTestClient.get().uri("/todos?includeArchived=true&limit=10")
+                .exchange()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2);
+
+        webTestClient.patch().uri("/todos/{id}", archived.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("done", false))
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+
+        Map<String, Object> reopened = row(archived.getId());
+        assertThat(reopened.get("archived")).isEqualTo(false);
+        assertThat(reopened.get("completed_at")).isNull();
+    }
+
+    private ToDoEntryDTO createTodo(String title, CategoryDTO category) {
+        ToDoEntryDTO entry = new ToDoEntryDTO();
+        entry.setTitle(title);
+        entry.setCategory(category);
+        return webTestClient.post().uri("/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(entry)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ToDoEntryDTO.class)
+                .returnResult().getResponseBody();
+    }
+
+    private Map<String, Object> row(Long id) {
+        return databaseClient.sql("select * from to_do_entry where id = :id")
+                .bind("id", id)
+                .fetch().one().block();
+    }
+}
@@ -0,0 +1,81 @@
+package de.htw.berlin.todo_app_backend.benchmark;
+
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2025, 1, 1, 9, 30, 0, 0,
+            ZoneId.of("Europe/Berlin").getRules().getOffset(LocalDate.of(2025, 1, 1).atStartOfDay()));
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private BenchmarkData() {
+    }
+
+    static List<Category> categories(int size) {
+        List<Category> categories = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Category category = new Category();
+            category.setId((long) i + 1);
+            category.setName("Category " + i);
+            category.setColorHex("#00" + String.format("%04X", i & 0xFFFF));
+            category.setVersion(0L);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    static ToDoEntry entry(int index, Category category) {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Task " + index);
+        entry.setDescription("Description for task number " + index);
+        entry.setDone(index % 3 == 0);
+        entry.setDueDate(LocalDate.of(2025, 1, 1).plusDays(index % 365));
+        entry.setPriority(PRIORITIES[index % PRIORITIES.length]);
+        entry.setCategory(category);
+        entry.setCreatedAt(CREATED_AT);
+        return entry;
+    }
+
+    static List<ToDoEntry> entries(int size) {
+        List<Category> categories = categories(10);
+        List<ToDoEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ToDoEntry entry = entry(i, i % 4 == 0 ? null : categories.get(i % categories.size()));
+            entry.setId((long) i + 1);
+            entry.setVersion(0L);
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    static List<ToDoEntryDTO> dtos(int size) {
+        List<ToDoEntryDTO> dtos = new ArrayList<>(size);
+        for (ToDoEntry entry : entries(size)) {
+            ToDoEntryDTO dto = new ToDoEntryDTO();
+            dto.setId(entry.getId());
+            dto.setTitle(entry.getTitle());
+            dto.setDescription(entry.getDescription());
+            dto.setDone(entry.isDone());
+            dto.setDueDate(entry.getDueDate());
+            dto.setPriority(entry.getPriority());
+            dto.setCreatedAt(entry.getCreatedAt());
+            dto.setVersion(entry.getVersion());
+            Category category = entry.getCategory();
+            if (category != null) {
+                dto.setCategory(new CategoryDTO(category.getId(), category.getName(), category.getColorHex(), category.getVersion()));
+            }
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,68 @@
+package de.htw.berlin.todo_app_backend.benchmark;
+
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.mapper.CategoryMapper;
+import de.htw.berlin.todo_app_backend.mapper.CategoryMapperImpl;
+import de.htw.berlin.todo_app_backend.mapper.ToDoEntryMapper;
+import de.htw.berlin.todo_app_backend.mapper.ToDoEntryMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private ToDoEntryMapper toDoEntryMapper;
+    private CategoryMapper categoryMapper;
+    private List<ToDoEntry> entries;
+    private List<ToDoEntryDTO> dtos;
+    private List<Category> categories;
+
+    @Setup
+    public void setUp() {
+        // The generated mappers use field injection, so wire them the way the application does
+        context = new AnnotationConfigApplicationContext(CategoryMapperImpl.class, ToDoEntryMapperImpl.class);
+        toDoEntryMapper = context.getBean(ToDoEntryMapper.class);
+        categoryMapper = context.getBean(CategoryMapper.class);
+        entries = BenchmarkData.entries(size);
+        dtos = BenchmarkData.dtos(size);
+        categories = BenchmarkData.categories(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ToDoEntryDTO> todosToDtos() {
+        return toDoEntryMapper.toDtoList(entries);
+    }
+
+    @Benchmark
+    public void dtosToTodos(Blackhole blackhole) {
+        for (ToDoEntryDTO dto : dtos) {
+            blackhole.consume(toDoEntryMapper.toEntity(dto));
+        }
+    }
+
+    @Benchmark
+    public List<CategoryDTO> categoriesToDtos() {
+        return categoryMapper.toDtoList(categories);
+    }
+}
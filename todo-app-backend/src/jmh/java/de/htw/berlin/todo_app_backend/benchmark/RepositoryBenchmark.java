@@ -0,0 +1,103 @@
+package de.htw.berlin.todo_app_backend.benchmark;
+
+import de.htw.berlin.todo_app_backend.TodoAppBackendApplication;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.service.ToDoEntryService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 500;
+
+    @Param({"h2", "postgres"})
+    private String database;
+
+    @Param({"1000"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ToDoEntryService service;
+    private int counter;
+
+    @Setup
+    public void setUp() throws IOException {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        if (database.equals("postgres")) {
+            postgres = EmbeddedPostgres.start();
+            properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+            properties.put("spring.datasource.username", "postgres");
+            properties.put("spring.datasource.password", "");
+        } else {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+            // Same setup as the H2 tests: tables from the entities, the change sequence from schema.sql
+            properties.put("spring.flyway.enabled", "false");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+            properties.put("spring.jpa.defer-datasource-initialization", "true");
+        }
+
+        // Passed as arguments because default properties would lose against application.yml
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(TodoAppBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        service = context.getBean(ToDoEntryService.class);
+
+        for (int offset = 0; offset < rows; offset += SEED_BATCH_SIZE) {
+            List<ToDoEntry> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = offset; i < Math.min(rows, offset + SEED_BATCH_SIZE); i++) {
+                batch.add(BenchmarkData.entry(i, null));
+            }
+            service.createAll(batch);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public List<ToDoEntry> listEntities() {
+        return service.getAll();
+    }
+
+    @Benchmark
+    public List<ToDoEntryDTO> listDtos() {
+        return service.getAllDtos(false);
+    }
+
+    @Benchmark
+    public ToDoEntry save() {
+        return service.save(BenchmarkData.entry(counter++, null));
+    }
+}
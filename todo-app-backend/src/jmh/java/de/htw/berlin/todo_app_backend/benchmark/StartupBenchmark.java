@@ -0,0 +1,69 @@
+package de.htw.berlin.todo_app_backend.benchmark;
+
+import de.htw.berlin.todo_app_backend.TodoAppBackendApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Time to a started context against an existing schema, with Hibernate introspecting it (ddl-auto=update)
+// compared to Flyway checking its history table and Hibernate only validating (the default)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"ddl-auto-update", "flyway-validate"})
+    private String schemaManagement;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        // Creates the schema once, so every measured start finds it already in place
+        start(true);
+        context.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        return start(schemaManagement.equals("flyway-validate"));
+    }
+
+    private ConfigurableApplicationContext start(boolean flyway) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--logging.level.root=WARN"));
+        if (!flyway) {
+            args.add("--spring.flyway.enabled=false");
+            args.add("--spring.jpa.hibernate.ddl-auto=update");
+        }
+        context = new SpringApplicationBuilder(TodoAppBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        return context;
+    }
+}
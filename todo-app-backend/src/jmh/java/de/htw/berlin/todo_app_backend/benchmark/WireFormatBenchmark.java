@@ -0,0 +1,84 @@
+package de.htw.berlin.todo_app_backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.mapper.CategoryMapperImpl;
+import de.htw.berlin.todo_app_backend.mapper.ToDoEntryMapper;
+import de.htw.berlin.todo_app_backend.mapper.ToDoEntryMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Serialization time per wire format and list shape; the payload sizes (raw and gzipped) are printed once per trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"nested", "normalized"})
+    private String shape;
+
+    private ObjectMapper objectMapper;
+    private Object payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory(format)).build();
+        List<ToDoEntryDTO> dtos = BenchmarkData.dtos(size);
+        if (shape.equals("normalized")) {
+            try (AnnotationConfigApplicationContext context =
+                         new AnnotationConfigApplicationContext(CategoryMapperImpl.class, ToDoEntryMapperImpl.class)) {
+                payload = context.getBean(ToDoEntryMapper.class).toNormalizedList(dtos);
+            }
+        } else {
+            payload = dtos;
+        }
+        byte[] raw = write();
+        System.out.printf("%n[wire-format] size=%d format=%s shape=%s bytes=%d gzipBytes=%d%n",
+                size, format, shape, raw.length, gzip(raw).length);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] writeGzipped() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(payload));
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,13 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Runs the cache advice outside the transaction advice, so evictions happen after commit.
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_BY_ID = "categoryById";
+}
@@ -0,0 +1,63 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+// Gates the connection pools with a JdbcBulkheadDataSource each when requests run on virtual threads. Without replicas
+// that is the application's data source; with them it is the primary and every replica pool behind the routing data
+// source, so replica reads do not take permits sized for the primary. A replica's gate lets as many through as its
+// pool holds and waits no longer than the pool would, after that the read goes to the primary. Being ordered, it
+// wraps the pool before the unordered slow query proxy does, so EXPLAIN connections are gated too.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class JdbcBulkheadConfig {
+
+    private interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+    }
+
+    @Bean
+    static BeanPostProcessor jdbcBulkheadDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${todo.jdbc-bulkhead.max-concurrent:10}") int maxConcurrent,
+            @Value("${todo.jdbc-bulkhead.acquire-timeout:2s}") Duration acquireTimeout) {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ReadReplicas replicas) {
+                    replicas.gatePools(pool -> pool.isReadOnly()
+                            ? new JdbcBulkheadDataSource(pool.getPoolName(), pool, pool.getMaximumPoolSize(),
+                                    min(acquireTimeout, Duration.ofMillis(pool.getConnectionTimeout())),
+                                    meterRegistry.getObject())
+                            : new JdbcBulkheadDataSource(pool.getPoolName(), pool, maxConcurrent, acquireTimeout,
+                                    meterRegistry.getObject()));
+                    return bean;
+                }
+                // With replicas the data source only routes, its pools are gated above
+                if (!(bean instanceof HikariDataSource pool) || !beanName.equals("dataSource")) {
+                    return bean;
+                }
+                return new JdbcBulkheadDataSource(pool.getPoolName(), pool, maxConcurrent, acquireTimeout,
+                        meterRegistry.getObject());
+            }
+        };
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
@@ -0,0 +1,115 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import de.htw.berlin.todo_app_backend.exception.JdbcBulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Virtual threads remove the Tomcat thread limit, so this caps how many connections may be in use at once.
+// A permit is taken before a connection is fetched from the pool and released when it is closed, so nobody holds a
+// pooled connection while waiting, and JPA, JdbcTemplate and COPY are gated alike. Each pool has its own, its meters
+// are tagged with the pool name.
+public class JdbcBulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public JdbcBulkheadDataSource(String pool, DataSource target, int maxConcurrent, Duration acquireTimeout,
+                                  MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+        this.waitTimer = Timer.builder("todo.jdbc.bulkhead.wait")
+                .description("Time spent waiting for a JDBC bulkhead permit")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("todo.jdbc.bulkhead.rejections")
+                .description("Connections refused because no JDBC bulkhead permit became available")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("todo.jdbc.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Free JDBC bulkhead permits")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    private void acquire() {
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejections.increment();
+                throw new JdbcBulkheadFullException("Too many concurrent database requests");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new JdbcBulkheadFullException("Interrupted while waiting for database access");
+        }
+    }
+
+    // Closing twice must not hand back the permit twice
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "getTargetConnection" -> connection;
+                    case "close" -> {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,34 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Times the generated MapStruct mappers. Only metrics are recorded here, a span per mapping call would drown the traces.
+@Aspect
+@Component
+public class MapperMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public MapperMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("bean(*MapperImpl)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            sample.stop(Timer.builder("todo.mapper")
+                    .description("Time spent mapping between entities and DTOs")
+                    .tag("mapper", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .register(meterRegistry));
+        }
+    }
+}
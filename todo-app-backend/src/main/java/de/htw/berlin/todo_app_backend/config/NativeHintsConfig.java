@@ -0,0 +1,44 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import de.htw.berlin.todo_app_backend.dto.TodoChangeDTO;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+// Spring AOT derives the hints for entities, mappers and controller DTOs itself. Registered here is only
+// what it cannot see: the JDK proxies of datasource-proxy and the JDBC bulkhead, and the DTOs written to the SSE
+// stream.
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.JdbcProxyHints.class)
+@RegisterReflectionForBinding(TodoChangeDTO.class)
+public class NativeHintsConfig {
+
+    static class JdbcProxyHints implements RuntimeHintsRegistrar {
+
+        private static final List<Class<?>> PROXIED = List.of(DataSource.class, Connection.class, Statement.class,
+                PreparedStatement.class, CallableStatement.class, ResultSet.class);
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> type : PROXIED) {
+                hints.proxies().registerJdkProxy(ProxyJdbcObject.class, type);
+                // The invocation handlers forward every call, and SlowQueryRecorder replays the parameter setters
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.proxies().registerJdkProxy(ConnectionProxy.class);
+        }
+    }
+}
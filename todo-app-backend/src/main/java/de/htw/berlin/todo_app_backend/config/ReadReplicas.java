@@ -0,0 +1,234 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import de.htw.berlin.todo_app_backend.exception.JdbcBulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// The primary pool and the read replica pools behind the routing data source. A scheduled check measures how far
+// each replica lags; read-only connections go round-robin to the replicas that answered and lag at most max-lag,
+// and to the primary when there is none or the request is pinned to it because its client just wrote.
+// All reads of one request go to the same replica, as replicas lag differently: the list's ETag stamp and body are
+// read in separate transactions, and a stamp newer than its body would keep the stale body cached.
+public class ReadReplicas implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicas.class);
+
+    // Seconds of replication lag. Everything received being replayed counts as caught up, because an idle primary
+    // sends nothing and the age of the last replayed transaction keeps growing. A server that is not a standby
+    // reports no lag, so plain databases can stand in for replicas.
+    static final String DEFAULT_LAG_QUERY = "select case when not pg_is_in_recovery() "
+            + "or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+    private static final Duration REPLICA_CONNECTION_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final class RequestRoute {
+
+        private boolean primaryOnly;
+        private Replica replica;
+
+        private RequestRoute(boolean primaryOnly) {
+            this.primaryOnly = primaryOnly;
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource pool;
+        // The pool, or the gate in front of it
+        private DataSource connections;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+            this.connections = pool;
+        }
+    }
+
+    private final HikariDataSource primaryPool;
+    private DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ThreadLocal<RequestRoute> requestRoute = new ThreadLocal<>();
+    private final Counter fallbacks;
+    private final DataSource readOnlyDataSource = new AbstractDataSource() {
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnlyConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("Replicas are logged in to with the primary's credentials");
+        }
+    };
+
+    public ReadReplicas(HikariDataSource primary, List<String> urls, int poolSize, Duration maxLag, String lagQuery,
+                        MeterRegistry registry) {
+        this.primaryPool = primary;
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? DEFAULT_LAG_QUERY : lagQuery;
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setPoolName(primary.getPoolName() + "-replica-" + (i + 1));
+            config.setMaximumPoolSize(poolSize);
+            config.setMinimumIdle(poolSize);
+            config.setReadOnly(true);
+            // Reads fall back to the primary instead of waiting long for a replica connection
+            config.setConnectionTimeout(Math.min(config.getConnectionTimeout(), REPLICA_CONNECTION_TIMEOUT.toMillis()));
+            // A replica that is down must not keep the application from starting, the check leaves it out
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            Replica replica = new Replica(config.getPoolName(), new HikariDataSource(config));
+            replicas.add(replica);
+            Gauge.builder("todo.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag measured by the last check, NaN if the replica did not answer")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("todo.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether read-only transactions are sent to the replica")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+        this.fallbacks = Counter.builder("todo.datasource.replica.fallbacks")
+                .description("Read-only connections taken from the primary because no replica was available")
+                .register(registry);
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    // Puts every pool behind a gate of its own, so busy replicas cannot use up what the primary lets through and the
+    // other way round. Called while the bean is initialized, before any connection is handed out.
+    public void gatePools(Function<HikariDataSource, DataSource> gate) {
+        primary = gate.apply(primaryPool);
+        replicas.forEach(replica -> replica.connections = gate.apply(replica.pool));
+    }
+
+    public DataSource readOnlyDataSource() {
+        return readOnlyDataSource;
+    }
+
+    public void beginRequest(boolean primaryOnly) {
+        requestRoute.set(new RequestRoute(primaryOnly));
+    }
+
+    public void endRequest() {
+        requestRoute.remove();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.replicas.check-interval:1s}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+                double lagSeconds;
+                try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    resultSet.next();
+                    lagSeconds = resultSet.getDouble(1);
+                }
+                replica.lagSeconds = lagSeconds;
+                if (lagSeconds * 1000 <= maxLag.toMillis()) {
+                    setAvailable(replica, true, null);
+                } else {
+                    setAvailable(replica, false, "it lags " + lagSeconds + "s");
+                }
+            } catch (SQLException | RuntimeException ex) {
+                replica.lagSeconds = Double.NaN;
+                setAvailable(replica, false, ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primaryPool.close();
+    }
+
+    private Connection readOnlyConnection() throws SQLException {
+        RequestRoute route = requestRoute.get();
+        if (route == null) {
+            return replicaOrPrimary(null);
+        }
+        if (route.replica != null && !route.replica.available) {
+            // Another replica could be further behind than what the request read so far, the primary is not
+            route.primaryOnly = true;
+        }
+        return route.primaryOnly ? primary.getConnection() : replicaOrPrimary(route);
+    }
+
+    private Connection replicaOrPrimary(RequestRoute route) throws SQLException {
+        Replica replica = route != null && route.replica != null ? route.replica : pick();
+        while (replica != null) {
+            try {
+                Connection connection = replica.connections.getConnection();
+                if (route != null) {
+                    route.replica = replica;
+                }
+                return connection;
+            } catch (SQLException ex) {
+                setAvailable(replica, false, ex.getMessage());
+                replica = route != null && route.replica != null ? null : pick();
+            } catch (JdbcBulkheadFullException ex) {
+                // Busy rather than broken, so the replica stays in and only this read goes to the primary
+                break;
+            }
+        }
+        fallbacks.increment();
+        if (route != null) {
+            route.primaryOnly = true;
+        }
+        return primary.getConnection();
+    }
+
+    private Replica pick() {
+        List<Replica> available = replicas.stream().filter(replica -> replica.available).toList();
+        if (available.isEmpty()) {
+            return null;
+        }
+        return available.get(Math.floorMod(next.getAndIncrement(), available.size()));
+    }
+
+    private void setAvailable(Replica replica, boolean available, String reason) {
+        if (replica.available == available) {
+            return;
+        }
+        replica.available = available;
+        if (available) {
+            log.info("Replica {} is back, read-only transactions use it again", replica.name);
+        } else {
+            log.warn("Replica {} left out of read-only transactions: {}", replica.name, reason);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+// A client that wrote reads from the primary for the sticky window afterwards, so it does not miss its own write
+// on a replica that has not replayed it yet. The cookie holds the end of the window in epoch millis. The frontend
+// is served from another site, hence SameSite=None and Partitioned; it has to send requests with credentials.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "todo-read-primary-until";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ReadReplicas replicas;
+    private final Duration stickyWindow;
+
+    public ReadYourWritesFilter(ReadReplicas replicas, Duration stickyWindow) {
+        this.replicas = replicas;
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // Set before the chain runs, the response may be committed by the time it returns
+            long until = System.currentTimeMillis() + stickyWindow.toMillis();
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, Long.toString(until))
+                    .path("/")
+                    .maxAge(stickyWindow)
+                    .httpOnly(true)
+                    .secure(true)
+                    .sameSite("None")
+                    .partitioned(true)
+                    .build()
+                    .toString());
+        }
+        replicas.beginRequest(write || withinStickyWindow(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            replicas.endRequest();
+        }
+    }
+
+    private static boolean withinStickyWindow(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
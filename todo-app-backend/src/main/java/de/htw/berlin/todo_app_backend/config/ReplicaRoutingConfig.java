@@ -0,0 +1,55 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+// With todo.replicas.urls set, read-only transactions run on the read replicas and everything else on the primary.
+// The lazy proxy takes the real connection only at the first statement, once the transaction has marked it
+// read-only, and takes read-only ones from ReadReplicas. The routing data source is the only DataSource bean,
+// so Flyway, Hibernate and the slow query proxy keep seeing a single one.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${todo.replicas.urls:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    ReadReplicas readReplicas(DataSourceProperties properties, Environment environment, MeterRegistry registry,
+                              @Value("${todo.replicas.urls}") List<String> urls,
+                              @Value("${todo.replicas.pool-size:10}") int poolSize,
+                              @Value("${todo.replicas.max-lag:2s}") Duration maxLag,
+                              @Value("${todo.replicas.lag-query:}") String lagQuery) {
+        // Built like Boot's own pool, which backs off now that there is a DataSource bean
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (StringUtils.hasText(properties.getName())) {
+            primary.setPoolName(properties.getName());
+        }
+        return new ReadReplicas(primary, urls, poolSize, maxLag, lagQuery, registry);
+    }
+
+    @Bean
+    DataSource dataSource(ReadReplicas replicas) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicas.primary());
+        dataSource.setReadOnlyDataSource(replicas.readOnlyDataSource());
+        return dataSource;
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(ReadReplicas replicas,
+                                              @Value("${todo.replicas.sticky-window:5s}") Duration stickyWindow) {
+        return new ReadYourWritesFilter(replicas, stickyWindow);
+    }
+}
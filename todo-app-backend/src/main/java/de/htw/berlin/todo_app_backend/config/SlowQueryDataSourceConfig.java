@@ -0,0 +1,34 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import de.htw.berlin.todo_app_backend.repository.SlowQueryRecorder;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Wraps the pooled data source in a datasource-proxy, so every statement passes the slow query recorder
+@Configuration(proxyBeanMethods = false)
+public class SlowQueryDataSourceConfig {
+
+    @Bean
+    static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                SlowQueryRecorder slowQueryRecorder = recorder.getObject();
+                slowQueryRecorder.setExplainDataSource(dataSource);
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(slowQueryRecorder)
+                        .build();
+            }
+        };
+    }
+}
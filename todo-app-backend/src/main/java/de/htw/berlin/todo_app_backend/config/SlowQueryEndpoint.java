@@ -0,0 +1,36 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import de.htw.berlin.todo_app_backend.dto.SlowQueryDTO;
+import de.htw.berlin.todo_app_backend.repository.SlowQueryRecorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// GET /actuator/slowqueries lists the statements that crossed the threshold, DELETE starts over
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryRecorder recorder;
+    private final int reportSize;
+
+    public SlowQueryEndpoint(SlowQueryRecorder recorder,
+                             @Value("${todo.slow-query.report-size:20}") int reportSize) {
+        this.recorder = recorder;
+        this.reportSize = reportSize;
+    }
+
+    @ReadOperation
+    public List<SlowQueryDTO> slowQueries() {
+        return recorder.worst(reportSize);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+}
@@ -1,11 +1,20 @@
 package de.htw.berlin.todo_app_backend.controller;
 
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.CategoryDeleteJob;
 import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.dto.CategoryDeleteJobDTO;
+import de.htw.berlin.todo_app_backend.mapper.CategoryDeleteJobMapper;
 import de.htw.berlin.todo_app_backend.mapper.CategoryMapper;
 import de.htw.berlin.todo_app_backend.service.CategoryService;
+import de.htw.berlin.todo_app_backend.util.ETags;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
@@ -16,10 +25,15 @@ public class CategoryController {
 
     private final CategoryService service;
     private final CategoryMapper categoryMapper;
+    private final CategoryDeleteJobMapper deleteJobMapper;
 
     @GetMapping
-    public List<CategoryDTO> getAllCategories() {
-        return categoryMapper.toDtoList(service.getAll());
+    public List<CategoryDTO> getAllCategories(WebRequest request) {
+        List<CategoryDTO> categories = service.getAll();
+        if (request.checkNotModified(ETags.weak(ETags.stampOf(categories)))) {
+            return null;
+        }
+        return categories;
     }
 
     @PostMapping
@@ -28,13 +42,36 @@ public class CategoryController {
     }
 
     @PutMapping("/{id}")
-    public CategoryDTO updateCategory(@PathVariable Long id, @Valid @RequestBody CategoryDTO categoryDto) {
+    public ResponseEntity<CategoryDTO> updateCategory(@PathVariable Long id, @Valid @RequestBody CategoryDTO categoryDto,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         categoryDto.setId(id);
-        return categoryMapper.toDto(service.save(categoryMapper.toEntity(categoryDto)));
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        if (expectedVersion != null) {
+            categoryDto.setVersion(expectedVersion);
+        }
+        Category saved = service.save(categoryMapper.toEntity(categoryDto));
+        return ResponseEntity.ok().eTag(ETags.forCategory(saved)).body(categoryMapper.toDto(saved));
     }
 
     @DeleteMapping("/{id}")
-    public void deleteCategory(@PathVariable Long id) {
-        service.delete(id);
+    public void deleteCategory(@PathVariable Long id,
+                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.delete(id, ETags.parseIfMatch(ifMatch));
+    }
+
+    // For categories with many todos: the category is gone at once, its todos are unlinked in the background
+    @DeleteMapping(value = "/{id}", params = "async=true")
+    public ResponseEntity<CategoryDeleteJobDTO> deleteCategoryAsync(@PathVariable Long id,
+                                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CategoryDeleteJob job = service.deleteAsync(id, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/categories/delete-jobs/{jobId}").buildAndExpand(job.getId()).toUri())
+                .body(deleteJobMapper.toDto(job));
+    }
+
+    @GetMapping("/delete-jobs/{jobId}")
+    public CategoryDeleteJobDTO getDeleteJob(@PathVariable Long jobId) {
+        return deleteJobMapper.toDto(service.getDeleteJob(jobId));
     }
 }
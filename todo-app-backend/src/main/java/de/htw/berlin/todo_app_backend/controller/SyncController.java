@@ -0,0 +1,24 @@
+package de.htw.berlin.todo_app_backend.controller;
+
+import de.htw.berlin.todo_app_backend.dto.SyncDTO;
+import de.htw.berlin.todo_app_backend.service.SyncService;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/sync")
+@AllArgsConstructor
+public class SyncController {
+
+    private final SyncService service;
+
+    // Without "since" the client gets a full snapshot, afterwards only rows changed from its high-water mark on
+    @GetMapping
+    public SyncDTO sync(@RequestParam(required = false) @PositiveOrZero Long since) {
+        return service.sync(since);
+    }
+}
@@ -1,12 +1,41 @@
 package de.htw.berlin.todo_app_backend.controller;
 
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.NormalizedToDoListDTO;
 import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryFilterDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryImportReportDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryPageDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryPatchDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoStatsDTO;
 import de.htw.berlin.todo_app_backend.mapper.ToDoEntryMapper;
+import de.htw.berlin.todo_app_backend.service.ToDoEntryExportService;
+import de.htw.berlin.todo_app_backend.service.ToDoEntryImportService;
 import de.htw.berlin.todo_app_backend.service.ToDoEntryService;
+import de.htw.berlin.todo_app_backend.service.TodoChangeFeed;
+import de.htw.berlin.todo_app_backend.service.TodoStats;
+import de.htw.berlin.todo_app_backend.exception.InvalidSortException;
+import de.htw.berlin.todo_app_backend.util.CursorCodec;
+import de.htw.berlin.todo_app_backend.util.CursorCodec.RankedCursor;
+import de.htw.berlin.todo_app_backend.util.ETags;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -14,17 +43,113 @@ import java.util.List;
 @AllArgsConstructor
 public class TodoEntryController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final ToDoEntryService service;
+    private final ToDoEntryExportService exportService;
+    private final ToDoEntryImportService importService;
     private final ToDoEntryMapper toDoEntryMapper;
+    private final TodoChangeFeed changeFeed;
+    private final TodoStats stats;
 
     @GetMapping
-    public List<ToDoEntryDTO> getAllTodos() {
-        return toDoEntryMapper.toDtoList(service.getAll());
+    public List<ToDoEntryDTO> getAllTodos(@Valid ToDoEntryFilterDTO filter, Sort sort, WebRequest request) {
+        if (request.checkNotModified(ETags.weak(service.getListStamp(filter.isIncludeArchived())))) {
+            return null;
+        }
+        return findTodos(filter, sort);
+    }
+
+    @GetMapping(params = {"shape=normalized", "!limit"})
+    public NormalizedToDoListDTO getAllTodosNormalized(@Valid ToDoEntryFilterDTO filter, Sort sort, WebRequest request) {
+        if (request.checkNotModified(ETags.weak(service.getListStamp(filter.isIncludeArchived())))) {
+            return null;
+        }
+        return toDoEntryMapper.toNormalizedList(findTodos(filter, sort));
+    }
+
+    @GetMapping(params = "limit")
+    public ToDoEntryPageDTO getTodoPage(@RequestParam(required = false) String after, @RequestParam int limit,
+                                        @Valid ToDoEntryFilterDTO filter, Sort sort, WebRequest request) {
+        if (sort.isSorted()) {
+            throw new InvalidSortException("Cursor paging only supports the default sort");
+        }
+        if (request.checkNotModified(ETags.weak(service.getListStamp(filter.isIncludeArchived())))) {
+            return null;
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Long afterId = after != null ? CursorCodec.decode(after) : null;
+
+        List<ToDoEntryDTO> entries = filter.hasCriteria()
+                ? service.search(filter, Sort.unsorted(), afterId, Limit.of(pageSize + 1))
+                : service.getDtoPage(afterId, pageSize + 1, filter.isIncludeArchived());
+        boolean hasMore = entries.size() > pageSize;
+        List<ToDoEntryDTO> items = hasMore ? entries.subList(0, pageSize) : entries;
+        String nextCursor = hasMore ? CursorCodec.encode(items.get(items.size() - 1).getId()) : null;
+
+        return new ToDoEntryPageDTO(items, nextCursor);
+    }
+
+    @GetMapping("/search")
+    public ToDoEntryPageDTO searchTodos(@RequestParam @NotBlank @Size(max = 100) String q,
+                                        @RequestParam(required = false) Long categoryId,
+                                        @RequestParam(required = false) String after,
+                                        @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        RankedCursor afterHit = after != null ? CursorCodec.decodeRanked(after) : null;
+
+        List<ToDoEntryService.SearchResult> results = service.searchText(q, categoryId, afterHit, pageSize + 1);
+        boolean hasMore = results.size() > pageSize;
+        List<ToDoEntryService.SearchResult> page = hasMore ? results.subList(0, pageSize) : results;
+        ToDoEntryService.SearchResult last = hasMore ? page.get(page.size() - 1) : null;
+        String nextCursor = last != null ? CursorCodec.encode(new RankedCursor(last.score(), last.todo().getId())) : null;
+
+        return new ToDoEntryPageDTO(page.stream().map(ToDoEntryService.SearchResult::todo).toList(), nextCursor);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTodos() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(exportService::writeJsonArray);
+    }
+
+    @GetMapping(value = "/export", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTodosAsNdjson() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::writeNdjson);
+    }
+
+    // The body is read as it arrives, so uploads of any size go through in bounded memory
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ToDoEntryImportReportDTO importTodosFromCsv(InputStream body) throws IOException {
+        return importService.importCsv(body);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ToDoEntryImportReportDTO importTodosFromNdjson(InputStream body) {
+        return importService.importNdjson(body);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
+    @GetMapping("/stats")
+    public TodoStatsDTO getStats() {
+        return stats.getStats();
     }
 
     @GetMapping("/{id}")
-    public ToDoEntryDTO getTodoById(@PathVariable Long id) {
-        return toDoEntryMapper.toDto(service.getById(id));
+    public ToDoEntryDTO getTodoById(@PathVariable Long id, WebRequest request) {
+        ToDoEntry entry = service.getById(id);
+        if (request.checkNotModified(ETags.forTodo(entry))) {
+            return null;
+        }
+        return toDoEntryMapper.toDto(entry);
     }
 
     @PostMapping
@@ -33,13 +158,51 @@ public class TodoEntryController {
     }
 
     @PutMapping("/{id}")
-    public ToDoEntryDTO updateTodo(@PathVariable Long id, @Valid @RequestBody ToDoEntryDTO entryDto) {
+    public ResponseEntity<ToDoEntryDTO> updateTodo(@PathVariable Long id, @Valid @RequestBody ToDoEntryDTO entryDto,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         entryDto.setId(id);
-        return toDoEntryMapper.toDto(service.save(toDoEntryMapper.toEntity(entryDto)));
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        if (expectedVersion != null) {
+            entryDto.setVersion(expectedVersion);
+        }
+        ToDoEntry saved = service.save(toDoEntryMapper.toEntity(entryDto));
+        return ResponseEntity.ok().eTag(ETags.forTodo(saved)).body(toDoEntryMapper.toDto(saved));
+    }
+
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void patchTodo(@PathVariable Long id, @Valid @RequestBody ToDoEntryPatchDTO patchDto,
+                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.patch(id, patchDto, ETags.parseIfMatch(ifMatch));
     }
 
     @DeleteMapping("/{id}")
-    public void deleteTodo(@PathVariable Long id) {
-        service.delete(id);
+    public void deleteTodo(@PathVariable Long id,
+                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.delete(id, ETags.parseIfMatch(ifMatch));
+    }
+
+    @PostMapping("/batch")
+    public List<ToDoEntryDTO> createTodos(
+            @RequestBody @Size(max = MAX_BATCH_SIZE) List<@Valid ToDoEntryDTO> entryDtos) {
+        return toDoEntryMapper.toDtoList(service.createAll(entryDtos.stream().map(toDoEntryMapper::toEntity).toList()));
+    }
+
+    @PutMapping("/batch")
+    public List<ToDoEntryDTO> updateTodos(
+            @RequestBody @Size(max = MAX_BATCH_SIZE) List<@Valid ToDoEntryDTO> entryDtos) {
+        return toDoEntryMapper.toDtoList(service.updateAll(entryDtos.stream().map(toDoEntryMapper::toEntity).toList()));
+    }
+
+    @DeleteMapping("/batch")
+    public void deleteTodos(@RequestBody @Size(max = MAX_BATCH_SIZE) List<@NotNull Long> ids) {
+        service.deleteAll(ids);
+    }
+
+    private List<ToDoEntryDTO> findTodos(ToDoEntryFilterDTO filter, Sort sort) {
+        if (!filter.hasCriteria() && sort.isUnsorted()) {
+            return service.getAllDtos(filter.isIncludeArchived());
+        }
+        return service.search(filter, sort, null, Limit.unlimited());
     }
 }
@@ -1,18 +1,32 @@
 package de.htw.berlin.todo_app_backend.domain;
 
+import de.htw.berlin.todo_app_backend.repository.ChangeSequenceListener;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_category_change_seq", columnList = "change_seq"),
+        @Index(name = "idx_category_change_xid", columnList = "change_xid")
+})
+@EntityListeners(ChangeSequenceListener.class)
+@SQLRestriction("deleted = false")
 @Data
 @NoArgsConstructor
-public class Category {
+public class Category implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,4 +36,15 @@ public class Category {
     private String name;
     @NotNull
     private String colorHex;
+    @Version
+    private Long version;
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long changeSeq;
+    // The transaction that last stamped changeSeq, written by the database (see V7) and read by the delta sync
+    @Column(insertable = false, updatable = false)
+    private Long changeXid;
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean deleted;
 }
@@ -0,0 +1,46 @@
+package de.htw.berlin.todo_app_backend.domain;
+
+import de.htw.berlin.todo_app_backend.enums.CategoryDeleteJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+// Progress of unlinking the todos of a category that was deleted asynchronously
+@Entity
+@Data
+@NoArgsConstructor
+public class CategoryDeleteJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private Long categoryId;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoryDeleteJobStatus status;
+    // Todos linked when the delete was requested; todos linked later are unlinked as well
+    private long totalTodos;
+    private long unlinkedTodos;
+    @Column(nullable = false, updatable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime createdAt;
+    @Column(columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime finishedAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = OffsetDateTime.now(ZoneId.of("Europe/Berlin"));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package de.htw.berlin.todo_app_backend.domain;
+
+// Rows stamped from the shared change_seq sequence on every insert, update and soft delete
+public interface ChangeTracked {
+
+    void setChangeSeq(Long changeSeq);
+}
@@ -6,18 +6,34 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import de.htw.berlin.todo_app_backend.repository.ChangeSequenceListener;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 
 @Entity
+// The PostgreSQL schema, including its partial indexes, is owned by db/migration; these keep the H2 test schema close
+@Table(indexes = {
+        @Index(name = "idx_todo_entry_due_date", columnList = "due_date, id"),
+        @Index(name = "idx_todo_entry_category_id", columnList = "category_id, id"),
+        @Index(name = "idx_todo_entry_priority", columnList = "priority, id"),
+        @Index(name = "idx_todo_entry_change_seq", columnList = "change_seq"),
+        @Index(name = "idx_todo_entry_change_xid", columnList = "change_xid")
+})
+@EntityListeners(ChangeSequenceListener.class)
+@SQLRestriction("deleted = false")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
-public class ToDoEntry {
+public class ToDoEntry implements ChangeTracked {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_entry_seq")
+    @SequenceGenerator(name = "todo_entry_seq", sequenceName = "todo_entry_seq", allocationSize = 50)
     private Long id;
     @NotNull
     @Size(max = 25)
@@ -28,16 +44,37 @@ public class ToDoEntry {
     private LocalDate dueDate;
     @Enumerated(EnumType.STRING)
     private Priority priority;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
     @Column(nullable = false, updatable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE")
     private OffsetDateTime createdAt;
+    @Version
+    private Long version;
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long changeSeq;
+    // The transaction that last stamped changeSeq, written by the database (see V7) and read by the delta sync
+    @Column(insertable = false, updatable = false)
+    private Long changeXid;
+    // Deleted entries stay behind as tombstones so delta sync can report them
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean deleted;
+    @Column(columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime completedAt;
+    // Done todos completed long enough ago are moved to the archive partition, see ToDoEntryArchiver
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean archived;
 
     @PrePersist
     void onCreate() {
         if (createdAt == null) {
             createdAt = OffsetDateTime.now(ZoneId.of("Europe/Berlin"));
         }
+        if (done && completedAt == null) {
+            completedAt = createdAt;
+        }
     }
 }
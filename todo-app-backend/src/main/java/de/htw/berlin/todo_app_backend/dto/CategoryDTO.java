@@ -2,11 +2,13 @@ package de.htw.berlin.todo_app_backend.dto;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
+@AllArgsConstructor
 public class CategoryDTO {
     private Long id;
     @NotNull
@@ -14,4 +16,5 @@ public class CategoryDTO {
     private String name;
     @NotNull
     private String colorHex;
+    private Long version;
 }
@@ -0,0 +1,21 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import de.htw.berlin.todo_app_backend.enums.CategoryDeleteJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryDeleteJobDTO {
+    private Long id;
+    private Long categoryId;
+    private CategoryDeleteJobStatus status;
+    private long totalTodos;
+    private long unlinkedTodos;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime finishedAt;
+}
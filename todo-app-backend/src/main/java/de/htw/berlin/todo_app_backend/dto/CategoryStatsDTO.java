@@ -0,0 +1,16 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryStatsDTO {
+    // Null for the todos without a category
+    private Long categoryId;
+    private long open;
+    private long done;
+    private long overdue;
+}
@@ -0,0 +1,24 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NormalizedToDoEntryDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private boolean done;
+    private LocalDate dueDate;
+    private Priority priority;
+    private Long categoryId;
+    private OffsetDateTime createdAt;
+    private Long version;
+}
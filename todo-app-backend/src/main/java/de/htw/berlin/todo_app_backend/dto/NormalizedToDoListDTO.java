@@ -0,0 +1,16 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Every category is sent once, todos reference it by categoryId
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NormalizedToDoListDTO {
+    private List<CategoryDTO> categories;
+    private List<NormalizedToDoEntryDTO> todos;
+}
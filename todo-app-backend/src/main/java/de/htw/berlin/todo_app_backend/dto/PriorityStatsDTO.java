@@ -0,0 +1,17 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriorityStatsDTO {
+    // Null for the todos without a priority
+    private Priority priority;
+    private long open;
+    private long done;
+    private long overdue;
+}
@@ -0,0 +1,22 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDTO {
+    private String sql;
+    private long executions;
+    private long slowExecutions;
+    private long totalMillis;
+    private double meanMillis;
+    private long maxMillis;
+    // Output of EXPLAIN (ANALYZE, BUFFERS), null until a slow execution has been explained
+    private String plan;
+    private Instant planCapturedAt;
+}
@@ -0,0 +1,21 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncDTO {
+    // Pass back as "since" on the next sync
+    private long highWaterMark;
+    // True when this is a full snapshot that replaces the client's local state
+    private boolean full;
+    private List<ToDoEntryDTO> todos;
+    private List<Long> deletedTodoIds;
+    private List<CategoryDTO> categories;
+    private List<Long> deletedCategoryIds;
+}
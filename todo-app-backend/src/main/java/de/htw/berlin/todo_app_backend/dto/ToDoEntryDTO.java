@@ -23,4 +23,21 @@ public class ToDoEntryDTO {
     private Priority priority;
     private CategoryDTO category;
     private OffsetDateTime createdAt;
+    private Long version;
+
+    public ToDoEntryDTO(Long id, String title, String description, boolean done, LocalDate dueDate,
+                        Priority priority, OffsetDateTime createdAt, Long version,
+                        Long categoryId, String categoryName, String categoryColorHex, Long categoryVersion) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.done = done;
+        this.dueDate = dueDate;
+        this.priority = priority;
+        this.createdAt = createdAt;
+        this.version = version;
+        if (categoryId != null) {
+            this.category = new CategoryDTO(categoryId, categoryName, categoryColorHex, categoryVersion);
+        }
+    }
 }
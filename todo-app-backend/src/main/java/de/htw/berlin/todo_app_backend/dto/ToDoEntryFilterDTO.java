@@ -0,0 +1,30 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+public class ToDoEntryFilterDTO {
+    private Boolean done;
+    private Priority priority;
+    private Long categoryId;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+    @Size(max = 25, message = "Maximum of 25 characters allowed")
+    private String title;
+    // Archived todos are left out unless asked for; not a criterion, it widens the list rather than narrowing it
+    private boolean includeArchived;
+
+    public boolean hasCriteria() {
+        return done != null || priority != null || categoryId != null
+                || dueFrom != null || dueTo != null || (title != null && !title.isBlank());
+    }
+}
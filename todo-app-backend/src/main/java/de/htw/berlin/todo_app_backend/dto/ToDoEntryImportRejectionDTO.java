@@ -0,0 +1,16 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToDoEntryImportRejectionDTO {
+    // Counted from 1 over the records of the upload, without the CSV header line and blank NDJSON lines
+    private long row;
+    private List<String> errors;
+}
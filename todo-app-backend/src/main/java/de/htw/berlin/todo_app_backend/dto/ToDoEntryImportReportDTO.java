@@ -0,0 +1,18 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToDoEntryImportReportDTO {
+    private long imported;
+    private long rejected;
+    private int categoriesCreated;
+    // The first todo.import.max-reported-rejections of them, in row order
+    private List<ToDoEntryImportRejectionDTO> rejections;
+}
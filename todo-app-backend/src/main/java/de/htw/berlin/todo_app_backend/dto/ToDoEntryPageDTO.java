@@ -0,0 +1,15 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ToDoEntryPageDTO {
+    private List<ToDoEntryDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,18 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import de.htw.berlin.todo_app_backend.enums.TodoChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TodoChangeDTO {
+    private TodoChangeType type;
+    private Long todoId;
+    private Long categoryId;
+    private ToDoEntryDTO todo;
+}
@@ -0,0 +1,14 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoSearchHitDTO {
+    private Long id;
+    // Higher is a better match; hits are ordered by score desc, id desc
+    private float score;
+}
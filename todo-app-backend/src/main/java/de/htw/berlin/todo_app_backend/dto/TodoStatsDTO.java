@@ -0,0 +1,21 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoStatsDTO {
+    // Todos due before this day are overdue
+    private LocalDate date;
+    private long open;
+    private long done;
+    private long overdue;
+    private List<CategoryStatsDTO> categories;
+    private List<PriorityStatsDTO> priorities;
+}
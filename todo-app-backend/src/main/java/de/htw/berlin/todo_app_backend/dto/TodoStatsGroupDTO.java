@@ -0,0 +1,20 @@
+package de.htw.berlin.todo_app_backend.dto;
+
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Number of todos sharing the fields the stats are broken down by; negative counts take todos away
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoStatsGroupDTO {
+    private Long categoryId;
+    private Priority priority;
+    private boolean done;
+    private LocalDate dueDate;
+    private long count;
+}
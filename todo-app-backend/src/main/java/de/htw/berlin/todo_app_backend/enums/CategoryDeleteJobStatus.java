@@ -0,0 +1,7 @@
+package de.htw.berlin.todo_app_backend.enums;
+
+public enum CategoryDeleteJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED
+}
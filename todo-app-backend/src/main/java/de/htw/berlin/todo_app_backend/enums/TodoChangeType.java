@@ -0,0 +1,11 @@
+package de.htw.berlin.todo_app_backend.enums;
+
+public enum TodoChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    // Its todos are unlinked without an event of their own, clients clear the category from them
+    CATEGORY_DELETED,
+    // Sent when a client resumes from an event that is no longer buffered and has to reload the list
+    RESET
+}
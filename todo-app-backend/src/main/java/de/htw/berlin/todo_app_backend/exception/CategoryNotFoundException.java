@@ -0,0 +1,8 @@
+package de.htw.berlin.todo_app_backend.exception;
+
+public class CategoryNotFoundException extends RuntimeException {
+
+    public CategoryNotFoundException() {
+        super("Category not found");
+    }
+}
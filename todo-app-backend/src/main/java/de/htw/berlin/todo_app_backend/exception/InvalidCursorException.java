@@ -0,0 +1,8 @@
+package de.htw.berlin.todo_app_backend.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,8 @@
+package de.htw.berlin.todo_app_backend.exception;
+
+public class InvalidImportException extends RuntimeException {
+
+    public InvalidImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package de.htw.berlin.todo_app_backend.exception;
+
+public class InvalidSortException extends RuntimeException {
+
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package de.htw.berlin.todo_app_backend.exception;
+
+public class JdbcBulkheadFullException extends RuntimeException {
+
+    public JdbcBulkheadFullException(String message) {
+        super(message);
+    }
+}
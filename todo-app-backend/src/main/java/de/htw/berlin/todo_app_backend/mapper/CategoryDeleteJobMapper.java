@@ -0,0 +1,11 @@
+package de.htw.berlin.todo_app_backend.mapper;
+
+import de.htw.berlin.todo_app_backend.config.MapStructConfig;
+import de.htw.berlin.todo_app_backend.domain.CategoryDeleteJob;
+import de.htw.berlin.todo_app_backend.dto.CategoryDeleteJobDTO;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MapStructConfig.class)
+public interface CategoryDeleteJobMapper {
+	CategoryDeleteJobDTO toDto(CategoryDeleteJob job);
+}
@@ -4,6 +4,7 @@ import de.htw.berlin.todo_app_backend.config.MapStructConfig;
 import de.htw.berlin.todo_app_backend.domain.Category;
 import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import java.util.List;
 
@@ -11,6 +12,9 @@ import java.util.List;
 public interface CategoryMapper {
 	CategoryDTO toDto(Category category);
 
+	@Mapping(target = "changeSeq", ignore = true)
+	@Mapping(target = "changeXid", ignore = true)
+	@Mapping(target = "deleted", ignore = true)
 	Category toEntity(CategoryDTO categoryDto);
 
     List<CategoryDTO> toDtoList(List<Category> categories);
@@ -2,16 +2,43 @@ package de.htw.berlin.todo_app_backend.mapper;
 
 import de.htw.berlin.todo_app_backend.config.MapStructConfig;
 import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.dto.NormalizedToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.NormalizedToDoListDTO;
 import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Mapper(config = MapStructConfig.class, uses = CategoryMapper.class)
 public interface ToDoEntryMapper {
 	ToDoEntryDTO toDto(ToDoEntry toDoEntry);
 
+	@Mapping(target = "changeSeq", ignore = true)
+	@Mapping(target = "changeXid", ignore = true)
+	@Mapping(target = "deleted", ignore = true)
+	@Mapping(target = "completedAt", ignore = true)
+	@Mapping(target = "archived", ignore = true)
 	ToDoEntry toEntity(ToDoEntryDTO toDoEntryDto);
 
 	List<ToDoEntryDTO> toDtoList(List<ToDoEntry> toDoEntries);
+
+	@Mapping(target = "categoryId", source = "category.id")
+	NormalizedToDoEntryDTO toNormalized(ToDoEntryDTO toDoEntryDto);
+
+	default NormalizedToDoListDTO toNormalizedList(List<ToDoEntryDTO> toDoEntryDtos) {
+		Map<Long, CategoryDTO> categories = new LinkedHashMap<>();
+		List<NormalizedToDoEntryDTO> todos = new ArrayList<>(toDoEntryDtos.size());
+		for (ToDoEntryDTO dto : toDoEntryDtos) {
+			if (dto.getCategory() != null) {
+				categories.putIfAbsent(dto.getCategory().getId(), dto.getCategory());
+			}
+			todos.add(toNormalized(dto));
+		}
+		return new NormalizedToDoListDTO(new ArrayList<>(categories.values()), todos);
+	}
 }
@@ -0,0 +1,13 @@
+package de.htw.berlin.todo_app_backend.repository;
+
+import de.htw.berlin.todo_app_backend.domain.CategoryDeleteJob;
+import de.htw.berlin.todo_app_backend.enums.CategoryDeleteJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategoryDeleteJobRepository extends JpaRepository<CategoryDeleteJob, Long> {
+    List<CategoryDeleteJob> findByStatusNotOrderById(CategoryDeleteJobStatus status);
+}
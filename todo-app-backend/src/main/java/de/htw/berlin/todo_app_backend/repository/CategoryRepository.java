@@ -1,12 +1,33 @@
 package de.htw.berlin.todo_app_backend.repository;
 
 import de.htw.berlin.todo_app_backend.domain.Category;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findAllByOrderByIdDesc();
+
+    @Query("select c from Category c where c.changeXid >= :since order by c.changeXid, c.id")
+    List<Category> findChangedSince(@Param("since") long since);
+
+    @Query(value = "select id from category where deleted and change_xid >= :since", nativeQuery = true)
+    List<Long> findDeletedIdsChangedSince(@Param("since") long since);
+
+    // Writes that link todos hold the row shared and deletes hold it exclusively, so a delete either waits for those
+    // writes and then unlinks their todos, or commits first and the link is refused
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select c from Category c where c.id = :id")
+    Optional<Category> lockSharedById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Category c where c.id = :id")
+    Optional<Category> lockById(@Param("id") Long id);
 }
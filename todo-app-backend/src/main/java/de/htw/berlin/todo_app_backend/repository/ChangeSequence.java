@@ -0,0 +1,36 @@
+package de.htw.berlin.todo_app_backend.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Hands out change_seq values in blocks, like the pooled id sequence, so stamping a row costs no extra round trip.
+// The values group the rows of one bulk write and bump the change_xid the delta sync reads; they are not ordered by
+// commit, so the sync takes its mark from the database's snapshot instead, see SyncMark.
+@Component
+public class ChangeSequence {
+
+    public static final String SEQUENCE_NAME = "change_seq";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextBlockSql;
+    private long nextValue = 1;
+    private long lastValue = 0;
+
+    public ChangeSequence(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME);
+    }
+
+    public synchronized long next() {
+        if (nextValue > lastValue) {
+            Long blockStart = jdbcTemplate.queryForObject(nextBlockSql, Long.class);
+            nextValue = blockStart;
+            lastValue = blockStart + ALLOCATION_SIZE - 1;
+        }
+        return nextValue++;
+    }
+}
@@ -0,0 +1,23 @@
+package de.htw.berlin.todo_app_backend.repository;
+
+import de.htw.berlin.todo_app_backend.domain.ChangeTracked;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Instantiated by Hibernate through Spring while the EntityManagerFactory is still being built,
+// so the sequence (which needs that factory) is only looked up on first use
+public class ChangeSequenceListener {
+
+    private final ObjectProvider<ChangeSequence> changeSequence;
+
+    public ChangeSequenceListener(ObjectProvider<ChangeSequence> changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void stamp(Object entity) {
+        ((ChangeTracked) entity).setChangeSeq(changeSequence.getObject().next());
+    }
+}
@@ -0,0 +1,251 @@
+package de.htw.berlin.todo_app_backend.repository;
+
+import de.htw.berlin.todo_app_backend.dto.SlowQueryDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// Records the latency of every JDBC statement. When a statement crosses the threshold on PostgreSQL,
+// its plan is captured on a separate connection whose transaction is rolled back: with EXPLAIN (ANALYZE, BUFFERS)
+// for plain reads, with EXPLAIN (BUFFERS) for everything that writes or locks rows.
+@Component
+public class SlowQueryRecorder implements QueryExecutionListener, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryRecorder.class);
+    private static final int EXPLAIN_QUEUE_CAPACITY = 16;
+    private static final Pattern EXPLAINABLE = Pattern.compile("^\\s*(select|insert|update|delete|with)\\b", Pattern.CASE_INSENSITIVE);
+    // Statements that write or lock rows, running them again would hold locks and write WAL on the primary
+    private static final Pattern WRITES_OR_LOCKS = Pattern.compile(
+            "\\b(insert|update|delete|merge|for\\s+(key\\s+)?share)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final Duration threshold;
+    private final Duration explainInterval;
+    private final int maxStatements;
+    private final Map<String, Stats> statements = new ConcurrentHashMap<>();
+    // One plan at a time, so a burst of slow statements cannot take over the pool; beyond the queue they are dropped
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY), Thread.ofVirtual().name("slow-query-explain").factory());
+    private volatile DataSource explainDataSource;
+    private volatile Boolean postgres;
+    private volatile Timer statementTimer;
+    private volatile Counter slowStatements;
+
+    public SlowQueryRecorder(@Value("${todo.slow-query.threshold:200ms}") Duration threshold,
+                             @Value("${todo.slow-query.explain-interval:10m}") Duration explainInterval,
+                             @Value("${todo.slow-query.max-statements:500}") int maxStatements) {
+        this.threshold = threshold;
+        this.explainInterval = explainInterval;
+        this.maxStatements = maxStatements;
+    }
+
+    // The unproxied data source, so the EXPLAIN statements are neither recorded nor explained themselves
+    public void setExplainDataSource(DataSource explainDataSource) {
+        this.explainDataSource = explainDataSource;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        statementTimer = Timer.builder("todo.jdbc.statements")
+                .description("Time spent executing JDBC statements")
+                .register(registry);
+        slowStatements = Counter.builder("todo.jdbc.statements.slow")
+                .description("JDBC statements that took longer than the slow query threshold")
+                .register(registry);
+        Gauge.builder("todo.jdbc.statements.tracked", statements, Map::size)
+                .description("Distinct SQL statements with recorded latencies")
+                .register(registry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        Timer timer = statementTimer;
+        if (timer != null) {
+            timer.record(elapsedMillis, TimeUnit.MILLISECONDS);
+        }
+        boolean slow = elapsedMillis >= threshold.toMillis();
+        if (slow && slowStatements != null) {
+            slowStatements.increment();
+        }
+        for (QueryInfo query : queryInfoList) {
+            Stats stats = stats(query.getQuery());
+            if (stats == null) {
+                continue;
+            }
+            stats.record(elapsedMillis, slow);
+            // Hibernate sends inserts and updates as JDBC batches, the first parameter set stands in for the batch
+            if (slow && execInfo.isSuccess()) {
+                explainLater(stats, query);
+            }
+        }
+    }
+
+    // Worst offenders first, measured by the total time their slow and fast executions took together
+    public List<SlowQueryDTO> worst(int limit) {
+        return statements.values().stream()
+                .filter(stats -> stats.slowExecutions.sum() > 0)
+                .sorted(Comparator.comparingLong((Stats stats) -> stats.totalMillis.sum()).reversed())
+                .limit(limit)
+                .map(Stats::toDto)
+                .toList();
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private Stats stats(String sql) {
+        Stats stats = statements.get(sql);
+        if (stats == null && statements.size() < maxStatements) {
+            // Statements beyond the limit are only counted by the timer, the SQL of a running app is a small fixed set
+            stats = statements.computeIfAbsent(sql, Stats::new);
+        }
+        return stats;
+    }
+
+    private void explainLater(Stats stats, QueryInfo query) {
+        Instant capturedAt = stats.planCapturedAt;
+        if (capturedAt != null && capturedAt.plus(explainInterval).isAfter(Instant.now())) {
+            return;
+        }
+        // nextval would be consumed again by EXPLAIN ANALYZE, and rollback does not give sequence values back
+        if (!EXPLAINABLE.matcher(query.getQuery()).find() || query.getQuery().contains("nextval")) {
+            return;
+        }
+        if (explainDataSource == null || !stats.explainPending.compareAndSet(false, true)) {
+            return;
+        }
+        List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                ? List.of() : List.copyOf(query.getParametersList().get(0));
+        Runnable task = () -> {
+            try {
+                if (isPostgres()) {
+                    stats.plan = explain(query.getQuery(), parameters);
+                    stats.planCapturedAt = Instant.now();
+                }
+            } catch (SQLException | ReflectiveOperationException | RuntimeException ex) {
+                log.debug("Could not explain slow statement {}", query.getQuery(), ex);
+            } finally {
+                stats.explainPending.set(false);
+            }
+        };
+        try {
+            explainExecutor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            stats.explainPending.set(false);
+        }
+    }
+
+    private boolean isPostgres() throws SQLException {
+        if (postgres == null) {
+            try (Connection connection = explainDataSource.getConnection()) {
+                postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            }
+        }
+        return postgres;
+    }
+
+    private String explain(String sql, List<ParameterSetOperation> parameters)
+            throws SQLException, IllegalAccessException, InvocationTargetException {
+        try (Connection connection = explainDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement settings = connection.createStatement()) {
+                    // ANALYZE really runs the statement, so it must neither wait long for row locks nor run away
+                    settings.execute("set local lock_timeout = '1s'");
+                    settings.execute("set local statement_timeout = '10s'");
+                }
+                // Only plain reads are run again; writes and locking reads get the estimated plan
+                String explain = WRITES_OR_LOCKS.matcher(sql).find() ? "explain (buffers) " : "explain (analyze, buffers) ";
+                try (PreparedStatement statement = connection.prepareStatement(explain + sql)) {
+                    for (ParameterSetOperation parameter : parameters) {
+                        parameter.getMethod().invoke(statement, parameter.getArgs());
+                    }
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet lines = statement.executeQuery()) {
+                        while (lines.next()) {
+                            plan.append(lines.getString(1)).append('\n');
+                        }
+                    }
+                    return plan.toString();
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private static final class Stats {
+
+        private final String sql;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder slowExecutions = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+        private final AtomicBoolean explainPending = new AtomicBoolean();
+        private volatile String plan;
+        private volatile Instant planCapturedAt;
+
+        private Stats(String sql) {
+            this.sql = sql;
+        }
+
+        private void record(long elapsedMillis, boolean slow) {
+            executions.increment();
+            totalMillis.add(elapsedMillis);
+            maxMillis.accumulate(elapsedMillis);
+            if (slow) {
+                slowExecutions.increment();
+            }
+        }
+
+        private SlowQueryDTO toDto() {
+            long count = executions.sum();
+            long total = totalMillis.sum();
+            return new SlowQueryDTO(sql, count, slowExecutions.sum(), total,
+                    count == 0 ? 0 : (double) total / count, maxMillis.get(), plan, planCapturedAt);
+        }
+    }
+}
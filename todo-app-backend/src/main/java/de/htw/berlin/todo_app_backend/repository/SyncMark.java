@@ -0,0 +1,21 @@
+package de.htw.berlin.todo_app_backend.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// The delta sync's high-water mark: the oldest transaction still running, read from the database's own snapshot.
+// Every transaction below it has ended, so whatever it wrote is visible to the reads that follow, whichever backend
+// wrote it. Rows of transactions from the mark on carry a change_xid at or above it and are sent (again) next time.
+@Component
+@AllArgsConstructor
+public class SyncMark {
+
+    private static final String CURRENT_SQL = "select cast(cast(pg_snapshot_xmin(pg_current_snapshot()) as text) as bigint)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long current() {
+        return jdbcTemplate.queryForObject(CURRENT_SQL, Long.class);
+    }
+}
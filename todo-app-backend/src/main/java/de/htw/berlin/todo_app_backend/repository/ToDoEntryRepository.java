@@ -1,19 +1,130 @@
 package de.htw.berlin.todo_app_backend.repository;
 
 import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ToDoEntryRepository extends JpaRepository<ToDoEntry, Long> {
+public interface ToDoEntryRepository extends JpaRepository<ToDoEntry, Long>, ToDoEntryRepositoryCustom {
+    String DTO_PROJECTION = "select new de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO("
+            + "t.id, t.title, t.description, t.done, t.dueDate, t.priority, t.createdAt, t.version, "
+            + "c.id, c.name, c.colorHex, c.version) "
+            + "from ToDoEntry t left join t.category c ";
+    String EXPORT_FETCH_SIZE = "500";
+
+    @EntityGraph(attributePaths = "category")
     List<ToDoEntry> findAllByOrderByIdDesc();
 
+    @Query(DTO_PROJECTION + "order by t.id desc")
+    List<ToDoEntryDTO> findAllDtos();
+
+    @Query(DTO_PROJECTION + "where t.id < :id order by t.id desc")
+    List<ToDoEntryDTO> findDtosBelowId(@Param("id") Long id, Limit limit);
+
+    // The archived = false literal restricts these to the active partition
+    @Query(DTO_PROJECTION + "where t.archived = false order by t.id desc")
+    List<ToDoEntryDTO> findUnarchivedDtos();
+
+    @Query(DTO_PROJECTION + "where t.archived = false and t.id < :id order by t.id desc")
+    List<ToDoEntryDTO> findUnarchivedDtosBelowId(@Param("id") Long id, Limit limit);
+
+    @Query(DTO_PROJECTION + "where t.id in :ids")
+    List<ToDoEntryDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(DTO_PROJECTION + "order by t.id")
+    Stream<ToDoEntryDTO> streamAllDtos();
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<ToDoEntry> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<ToDoEntry> findAllById(Iterable<Long> ids);
+
+    @Query(DTO_PROJECTION + "where t.changeXid >= :since order by t.changeXid, t.id")
+    List<ToDoEntryDTO> findDtosChangedSince(@Param("since") long since);
+
+    // Native, because tombstones are hidden from every entity query
+    @Query(value = "select id from to_do_entry where deleted and change_xid >= :since", nativeQuery = true)
+    List<Long> findDeletedIdsChangedSince(@Param("since") long since);
+
+    @Modifying
+    @Query("update ToDoEntry t set t.deleted = true, t.category = null, t.version = t.version + 1, "
+            + "t.changeSeq = :changeSeq where t.id in :ids")
+    int softDeleteAllById(@Param("ids") Collection<Long> ids, @Param("changeSeq") long changeSeq);
+
     @Modifying
-    @Query("update ToDoEntry t set t.category = null where t.category.id = :categoryId")
-    int clearCategoryFromTodos(@Param("categoryId") Long categoryId);
+    @Query("update ToDoEntry t set t.category = null, t.version = t.version + 1, t.changeSeq = :changeSeq "
+            + "where t.category.id = :categoryId")
+    int clearCategoryFromTodos(@Param("categoryId") Long categoryId, @Param("changeSeq") long changeSeq);
+
+    // Native, because a join to the soft-deleted category would filter every todo out
+    @Query(value = "select count(*) from to_do_entry where category_id = :categoryId", nativeQuery = true)
+    long countByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Rows locked by other transactions are skipped instead of waited for, a later chunk picks them up
+    @Query(value = "select id from to_do_entry where category_id = :categoryId order by id limit :limit "
+            + "for update skip locked", nativeQuery = true)
+    List<Long> lockIdsByCategoryId(@Param("categoryId") Long categoryId, @Param("limit") int limit);
+
+    @Modifying
+    @Query("update ToDoEntry t set t.category = null, t.version = t.version + 1, t.changeSeq = :changeSeq "
+            + "where t.id in :ids")
+    int clearCategoryFromTodosById(@Param("ids") Collection<Long> ids, @Param("changeSeq") long changeSeq);
+
+    // Rows locked by other transactions are skipped, the next run archives them
+    @Query(value = "select id from to_do_entry where archived = false and done = true and deleted = false "
+            + "and completed_at < :cutoff order by completed_at limit :limit for update skip locked", nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
+
+    // Leaves version and change sequence alone, archiving changes nothing a client holds
+    @Modifying
+    @Query("update ToDoEntry t set t.archived = true where t.id in :ids")
+    int archiveAllById(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "update todo_archive_generation set generation = generation + 1", nativeQuery = true)
+    int bumpArchiveGeneration();
+
+    // Due dates only matter for open todos that are not overdue yet, all others are collapsed to keep the groups few.
+    // The collapsing happens in a subquery, as PostgreSQL does not match a select item with bind parameters to the
+    // same expression in the group by.
+    @Query("select new de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO(g.categoryId, g.priority, g.done, "
+            + "g.dueDate, count(*)) from (select t.category.id as categoryId, t.priority as priority, t.done as done, "
+            + "case when t.done = true then null when t.dueDate < :today then :overdueDate else t.dueDate end as dueDate "
+            + "from ToDoEntry t) g group by g.categoryId, g.priority, g.done, g.dueDate")
+    List<TodoStatsGroupDTO> countStatsGroups(@Param("today") LocalDate today, @Param("overdueDate") LocalDate overdueDate);
+
+    // Locks the rows, so the stats delta of the following bulk update starts from what it really changes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO(t.category.id, t.priority, t.done, "
+            + "t.dueDate, 1L) from ToDoEntry t where t.id in :ids")
+    List<TodoStatsGroupDTO> lockStatsGroupsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // The rows a bulk update stamped with its change sequence, which it still holds locked
+    @Query("select new de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO(t.category.id, t.priority, t.done, "
+            + "t.dueDate, count(t)) from ToDoEntry t where t.changeSeq = :changeSeq "
+            + "group by t.category.id, t.priority, t.done, t.dueDate")
+    List<TodoStatsGroupDTO> countStatsGroupsByChangeSeq(@Param("changeSeq") long changeSeq);
 }
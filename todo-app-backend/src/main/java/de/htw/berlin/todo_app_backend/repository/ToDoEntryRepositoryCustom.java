@@ -0,0 +1,29 @@
+package de.htw.berlin.todo_app_backend.repository;
+
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryPatchDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoSearchHitDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO;
+import de.htw.berlin.todo_app_backend.util.CursorCodec.RankedCursor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ToDoEntryRepositoryCustom {
+    List<ToDoEntryDTO> findDtos(Specification<ToDoEntry> spec, Sort sort, Limit limit);
+
+    // The stats group the todo was in before the patch, empty if it matched no todo that can be linked as asked
+    Optional<TodoStatsGroupDTO> patch(Long id, ToDoEntryPatchDTO patch, Long expectedVersion);
+
+    // Changes whenever a todo list could have changed; read before every list request, so only from indexes
+    String findListStamp(boolean includeArchived);
+
+    // Whether searchRanked can be used, it needs the PostgreSQL full-text and trigram indexes
+    boolean supportsFullTextSearch();
+
+    List<TodoSearchHitDTO> searchRanked(String query, Long categoryId, RankedCursor after, int limit);
+}
@@ -0,0 +1,262 @@
+package de.htw.berlin.todo_app_backend.repository;
+
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryPatchDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoSearchHitDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import de.htw.berlin.todo_app_backend.util.CursorCodec.RankedCursor;
+import de.htw.berlin.todo_app_backend.util.SearchTerms;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+class ToDoEntryRepositoryImpl implements ToDoEntryRepositoryCustom {
+
+    // The newest change_xid alone would miss a change that commits after a newer one, so the transactions below it
+    // that are still running are part of the stamp: whichever of them commits leaves the snapshot and changes it.
+    // Both maxima are read from the change_xid indexes.
+    private static final String POSTGRES_LIST_STAMP_SQL = "select concat(m.xid, '-', "
+            + "(select string_agg(cast(x as text), '.' order by x) from pg_snapshot_xip(pg_current_snapshot()) x "
+            + "where x < cast(cast(m.xid as text) as xid8))) "
+            + "from (select greatest((select max(change_xid) from to_do_entry), "
+            + "(select max(change_xid) from category)) as xid) m";
+    // H2 in the test profile has no snapshot functions; there the stamp is the newest change_seq of either table
+    private static final String FALLBACK_LIST_STAMP_SQL = "select concat((select coalesce(max(change_seq), 0) "
+            + "from to_do_entry), '-', (select coalesce(max(change_seq), 0) from category))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ChangeSequence changeSequence;
+
+    private volatile Boolean postgres;
+
+    @Override
+    public List<ToDoEntryDTO> findDtos(Specification<ToDoEntry> spec, Sort sort, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ToDoEntryDTO> query = cb.createQuery(ToDoEntryDTO.class);
+        Root<ToDoEntry> root = query.from(ToDoEntry.class);
+        Join<ToDoEntry, Category> category = root.join("category", JoinType.LEFT);
+
+        query.select(cb.construct(ToDoEntryDTO.class,
+                root.get("id"), root.get("title"), root.get("description"), root.get("done"),
+                root.get("dueDate"), root.get("priority"), root.get("createdAt"), root.get("version"),
+                category.get("id"), category.get("name"), category.get("colorHex"), category.get("version")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(toOrders(sort, root, cb));
+
+        TypedQuery<ToDoEntryDTO> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private List<Order> toOrders(Sort sort, Root<ToDoEntry> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<?> expression = order.getProperty().equals("priority")
+                    ? priorityRank(root, cb)
+                    : root.get(order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(expression) : cb.desc(expression));
+        }
+        return orders;
+    }
+
+    // Priority is stored by name, so rank it explicitly instead of sorting alphabetically
+    private Expression<Integer> priorityRank(Root<ToDoEntry> root, CriteriaBuilder cb) {
+        return cb.<Integer>selectCase()
+                .when(cb.equal(root.get("priority"), Priority.HIGH), 3)
+                .when(cb.equal(root.get("priority"), Priority.MEDIUM), 2)
+                .when(cb.equal(root.get("priority"), Priority.LOW), 1)
+                .otherwise(0);
+    }
+
+    // One statement that returns the fields the stats are counted by as they were before it. On PostgreSQL it locks
+    // the todo and the category it is linked to on the way; H2 in the test profile reads them from the old table.
+    @Override
+    public Optional<TodoStatsGroupDTO> patch(Long id, ToDoEntryPatchDTO patch, Long expectedVersion) {
+        StringJoiner set = new StringJoiner(", ");
+        Map<String, Object> parameters = new HashMap<>();
+        if (patch.getTitle() != null) {
+            set.add("title = :title");
+            parameters.put("title", patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            set.add("description = :description");
+            parameters.put("description", patch.getDescription());
+        }
+        if (patch.getDone() != null) {
+            set.add("done = :done");
+            parameters.put("done", patch.getDone());
+            if (patch.getDone()) {
+                set.add("completed_at = coalesce(completed_at, :completedAt)");
+                parameters.put("completedAt", OffsetDateTime.now(ZoneId.of("Europe/Berlin")));
+            } else {
+                // Reopening an archived todo moves it back to the active partition
+                set.add("completed_at = null");
+                set.add("archived = false");
+            }
+        }
+        if (patch.getDueDate() != null) {
+            set.add("due_date = :dueDate");
+            parameters.put("dueDate", patch.getDueDate());
+        }
+        if (patch.getPriority() != null) {
+            set.add("priority = :priority");
+            parameters.put("priority", patch.getPriority().name());
+        }
+        if (patch.getCategoryId() != null) {
+            set.add("category_id = :categoryId");
+            parameters.put("categoryId", patch.getCategoryId());
+        }
+
+        if (set.length() == 0) {
+            ToDoEntry current = entityManager.find(ToDoEntry.class, id);
+            if (current == null || (expectedVersion != null && !expectedVersion.equals(current.getVersion()))) {
+                return Optional.empty();
+            }
+            Long categoryId = current.getCategory() != null ? current.getCategory().getId() : null;
+            return Optional.of(new TodoStatsGroupDTO(categoryId, current.getPriority(), current.isDone(),
+                    current.getDueDate(), 1));
+        }
+        set.add("version = version + 1");
+        set.add("change_seq = :changeSeq");
+        parameters.put("changeSeq", changeSequence.next());
+        parameters.put("id", id);
+        String target = "id = :id and deleted = false";
+        if (expectedVersion != null) {
+            target += " and version = :version";
+            parameters.put("version", expectedVersion);
+        }
+
+        String sql;
+        if (supportsFullTextSearch()) {
+            // The share lock keeps a concurrent category delete from missing the link, like lockForLinking does
+            sql = "with old as (select id, category_id, priority, done, due_date from to_do_entry where " + target
+                    + " for update)"
+                    + (patch.getCategoryId() != null
+                            ? ", linked as (select id from category where id = :categoryId and deleted = false for share)"
+                            : "")
+                    + " update to_do_entry t set " + set + " from old"
+                    + (patch.getCategoryId() != null ? ", linked" : "")
+                    + " where t.id = old.id returning old.category_id, old.priority, old.done, old.due_date";
+        } else {
+            sql = "select category_id, priority, done, due_date from old table (update to_do_entry set " + set
+                    + " where " + target
+                    + (patch.getCategoryId() != null
+                            ? " and exists (select 1 from category c where c.id = :categoryId and c.deleted = false)"
+                            : "")
+                    + ")";
+        }
+        NativeQuery<?> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class)
+                .addScalar("category_id", Long.class)
+                .addScalar("priority", String.class)
+                .addScalar("done", Boolean.class)
+                .addScalar("due_date", LocalDate.class);
+        parameters.forEach(query::setParameter);
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] columns = (Object[]) rows.get(0);
+        return Optional.of(new TodoStatsGroupDTO((Long) columns[0],
+                columns[1] != null ? Priority.valueOf((String) columns[1]) : null,
+                (Boolean) columns[2], (LocalDate) columns[3], 1));
+    }
+
+    // Tombstones are read too, so a soft delete changes the stamp. The list without archived todos also changes
+    // with every archiver batch, which moves todos out of it without touching their change_xid.
+    @Override
+    public String findListStamp(boolean includeArchived) {
+        String sql = supportsFullTextSearch() ? POSTGRES_LIST_STAMP_SQL : FALLBACK_LIST_STAMP_SQL;
+        if (!includeArchived) {
+            sql = "select concat((" + sql + "), '-', (select generation from todo_archive_generation))";
+        }
+        return String.valueOf(entityManager.createNativeQuery(sql).getSingleResult());
+    }
+
+    @Override
+    public boolean supportsFullTextSearch() {
+        if (postgres == null) {
+            postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+
+    // Matches todos whose title or description has every query word as a prefix (search_vector, GIN indexed), or
+    // whose title is similar to the whole query (pg_trgm, GIN indexed), which catches typos. The score adds the
+    // full-text rank to the trigram similarity; it is computed per match, so paging seeks on (score, id).
+    @Override
+    public List<TodoSearchHitDTO> searchRanked(String query, Long categoryId, RankedCursor after, int limit) {
+        List<String> words = SearchTerms.words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("select id, score from (select t.id, "
+                + "cast(ts_rank(t.search_vector, to_tsquery('simple', :tsQuery)) + word_similarity(:query, t.title) as real) as score "
+                + "from to_do_entry t "
+                // A literal, so the partial search indexes apply
+                + "where t.deleted = false "
+                + "and (t.search_vector @@ to_tsquery('simple', :tsQuery) or t.title %> :query)");
+        if (categoryId != null) {
+            sql.append(" and t.category_id = :categoryId");
+        }
+        sql.append(") hits");
+        if (after != null) {
+            sql.append(" where hits.score < :afterScore or (hits.score = :afterScore and hits.id < :afterId)");
+        }
+        sql.append(" order by hits.score desc, hits.id desc limit :limit");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString(), Object[].class)
+                .setParameter("tsQuery", SearchTerms.toPrefixTsQuery(words))
+                .setParameter("query", String.join(" ", words))
+                .setParameter("limit", limit);
+        if (categoryId != null) {
+            nativeQuery.setParameter("categoryId", categoryId);
+        }
+        if (after != null) {
+            nativeQuery.setParameter("afterScore", after.score()).setParameter("afterId", after.id());
+        }
+        List<TodoSearchHitDTO> hits = new ArrayList<>();
+        for (Object row : nativeQuery.getResultList()) {
+            Object[] columns = (Object[]) row;
+            hits.add(new TodoSearchHitDTO(((Number) columns[0]).longValue(), ((Number) columns[1]).floatValue()));
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,81 @@
+package de.htw.berlin.todo_app_backend.repository;
+
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryFilterDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ToDoEntrySpecifications {
+
+    private ToDoEntrySpecifications() {
+    }
+
+    public static Specification<ToDoEntry> matching(ToDoEntryFilterDTO filter) {
+        List<Specification<ToDoEntry>> specs = new ArrayList<>();
+        if (!filter.isIncludeArchived()) {
+            specs.add(notArchived());
+        }
+        if (filter.getDone() != null) {
+            specs.add(isDone(filter.getDone()));
+        }
+        if (filter.getDueFrom() != null) {
+            specs.add(dueOnOrAfter(filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            specs.add(dueOnOrBefore(filter.getDueTo()));
+        }
+        if (filter.getPriority() != null) {
+            specs.add(hasPriority(filter.getPriority()));
+        }
+        if (filter.getCategoryId() != null) {
+            specs.add(inCategory(filter.getCategoryId()));
+        }
+        if (filter.getTitle() != null && !filter.getTitle().isBlank()) {
+            specs.add(titleStartsWith(filter.getTitle()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    // A literal instead of a bind parameter, so PostgreSQL can use the partial indexes for open todos
+    public static Specification<ToDoEntry> isDone(boolean done) {
+        return (root, query, cb) -> done ? cb.isTrue(root.get("done")) : cb.isFalse(root.get("done"));
+    }
+
+    // A literal as well, so PostgreSQL reads the active partition only
+    public static Specification<ToDoEntry> notArchived() {
+        return (root, query, cb) -> cb.isFalse(root.get("archived"));
+    }
+
+    public static Specification<ToDoEntry> dueOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+
+    public static Specification<ToDoEntry> dueOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), to);
+    }
+
+    public static Specification<ToDoEntry> hasPriority(Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    // Compares the foreign key column directly, so no join to category is needed
+    public static Specification<ToDoEntry> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<ToDoEntry> titleStartsWith(String prefix) {
+        String pattern = prefix.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern, '\\');
+    }
+
+    public static Specification<ToDoEntry> idBelow(Long id) {
+        return (root, query, cb) -> cb.lessThan(root.get("id"), id);
+    }
+}
@@ -0,0 +1,191 @@
+package de.htw.berlin.todo_app_backend.repository;
+
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+// The todo_import_staging table that imports load their rows into before merging them into to_do_entry.
+// On PostgreSQL the rows are spooled to a temporary file and then loaded with COPY, elsewhere in JDBC batches. Ids are
+// taken from todo_entry_seq while staging, so a merge is a plain insert-select and reports the ids it inserted.
+@Component
+public class TodoImportStaging {
+
+    public record Row(String title, String description, boolean done, LocalDate dueDate, Priority priority,
+                      Long categoryId, OffsetDateTime createdAt) {
+    }
+
+    // Matches the allocationSize of ToDoEntry's todo_entry_seq generator
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String COLUMNS =
+            "import_id, row_no, id, title, description, done, due_date, priority, category_id, created_at";
+    private static final String COPY_SQL = "copy todo_import_staging (" + COLUMNS + ") from stdin";
+    private static final String INSERT_SQL =
+            "insert into todo_import_staging (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String RANGE = "where import_id = ? and row_no >= ? and row_no < ?";
+    private static final String MERGE_SQL = "insert into to_do_entry (id, title, description, done, due_date, "
+            + "priority, category_id, created_at, completed_at, version, change_seq, deleted, archived) "
+            + "select id, title, description, done, due_date, priority, category_id, created_at, "
+            + "case when done then created_at end, 0, ?, false, false from todo_import_staging " + RANGE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextIdBlockSql;
+    private final boolean postgres;
+    private long nextId = 1;
+    private long lastId = 0;
+
+    public TodoImportStaging(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.nextIdBlockSql = dialect.getSequenceSupport().getSequenceNextValString("todo_entry_seq");
+        this.postgres = dialect instanceof PostgreSQLDialect;
+    }
+
+    // Stages the rows under row_no 0, 1, ... and returns how many there were. Each statement commits on its own,
+    // so the caller has to discard the import's rows whatever happens.
+    public long stage(UUID importId, Iterator<Row> rows) {
+        return postgres ? copy(importId, rows) : insertInBatches(importId, rows);
+    }
+
+    // Inserts the staged rows in [fromRow, toRow) into to_do_entry and drops them from staging, in the caller's
+    // transaction. Returns the inserted ids.
+    public List<Long> merge(UUID importId, long fromRow, long toRow, long changeSeq) {
+        jdbcTemplate.update(MERGE_SQL, changeSeq, importId, fromRow, toRow);
+        List<Long> ids = jdbcTemplate.queryForList("select id from todo_import_staging " + RANGE + " order by row_no",
+                Long.class, importId, fromRow, toRow);
+        jdbcTemplate.update("delete from todo_import_staging " + RANGE, importId, fromRow, toRow);
+        return ids;
+    }
+
+    public void discard(UUID importId) {
+        jdbcTemplate.update("delete from todo_import_staging where import_id = ?", importId);
+    }
+
+    // Pulling the rows parses the upload, creates categories and takes id blocks, each on a connection of its own.
+    // They are spooled first, so the COPY holds its connection only while it loads the file and never waits for those.
+    private long copy(UUID importId, Iterator<Row> rows) {
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("todo-import-", ".copy");
+            long rowNo = 0;
+            try (Writer writer = Files.newBufferedWriter(spool, StandardCharsets.UTF_8)) {
+                while (rows.hasNext()) {
+                    writeCopyLine(writer, importId, rowNo++, rows.next());
+                }
+            }
+            Path file = spool;
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try (InputStream in = Files.newInputStream(file)) {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, in, COPY_BUFFER_SIZE);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            return rowNo;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            if (spool != null) {
+                try {
+                    Files.deleteIfExists(spool);
+                } catch (IOException ex) {
+                    spool.toFile().deleteOnExit();
+                }
+            }
+        }
+    }
+
+    private void writeCopyLine(Writer writer, UUID importId, long rowNo, Row row) throws IOException {
+        writer.write(importId.toString());
+        writer.write('\t');
+        writer.write(Long.toString(rowNo));
+        writer.write('\t');
+        writer.write(Long.toString(nextId()));
+        writer.write('\t');
+        writeCopyText(writer, row.title());
+        writer.write('\t');
+        writeCopyText(writer, row.description());
+        writer.write('\t');
+        writer.write(row.done() ? "t" : "f");
+        writer.write('\t');
+        writeCopyText(writer, row.dueDate() != null ? row.dueDate().toString() : null);
+        writer.write('\t');
+        writeCopyText(writer, row.priority() != null ? row.priority().name() : null);
+        writer.write('\t');
+        writeCopyText(writer, row.categoryId() != null ? row.categoryId().toString() : null);
+        writer.write('\t');
+        writeCopyText(writer, row.createdAt().toString());
+        writer.write('\n');
+    }
+
+    // COPY's text format: \N is null, and backslashes and the column and row separators are escaped
+    private static void writeCopyText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            writer.write("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    private long insertInBatches(UUID importId, Iterator<Row> rows) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long rowNo = 0;
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            batch.add(new Object[]{importId, rowNo++, nextId(), row.title(), row.description(), row.done(),
+                    row.dueDate(), row.priority() != null ? row.priority().name() : null, row.categoryId(),
+                    row.createdAt()});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        return rowNo;
+    }
+
+    // Reads todo_entry_seq the way Hibernate's pooled optimizer does, so imported ids never collide with the
+    // ones the application hands out: each value ends a block of ID_ALLOCATION_SIZE ids. Only the start value 1
+    // ends a shorter one, as Hibernate counts its block from 1 up to the next value it reads.
+    private synchronized long nextId() {
+        if (nextId > lastId) {
+            long blockEnd = jdbcTemplate.queryForObject(nextIdBlockSql, Long.class);
+            nextId = Math.max(1, blockEnd - ID_ALLOCATION_SIZE + 1);
+            lastId = blockEnd;
+        }
+        return nextId++;
+    }
+}
@@ -0,0 +1,97 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import de.htw.berlin.todo_app_backend.domain.CategoryDeleteJob;
+import de.htw.berlin.todo_app_backend.enums.CategoryDeleteJobStatus;
+import de.htw.berlin.todo_app_backend.repository.CategoryDeleteJobRepository;
+import de.htw.berlin.todo_app_backend.repository.ChangeSequence;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+// Unlinks the todos of asynchronously deleted categories in chunks that commit one by one,
+// so no transaction holds the row locks of a huge category and concurrent writers are never blocked for long.
+// Unfinished jobs are picked up again after a restart.
+@Service
+public class CategoryDeleteWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryDeleteWorker.class);
+
+    @Autowired
+    private CategoryDeleteJobRepository jobRepository;
+    @Autowired
+    private ToDoEntryRepository todoEntryRepository;
+    @Autowired
+    private ChangeSequence changeSequence;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Value("${todo.category-delete.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${todo.category-delete.locked-retry-delay:100ms}")
+    private Duration lockedRetryDelay;
+
+    @Scheduled(fixedDelayString = "${todo.category-delete.poll-interval:1s}")
+    public void processPendingJobs() {
+        for (CategoryDeleteJob job : jobRepository.findByStatusNotOrderById(CategoryDeleteJobStatus.COMPLETED)) {
+            try {
+                run(job.getId(), job.getCategoryId());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // The job stays unfinished and is retried on the next poll
+                log.warn("Category delete job {} failed", job.getId(), ex);
+            }
+        }
+    }
+
+    private void run(Long jobId, Long categoryId) throws InterruptedException {
+        while (true) {
+            if (unlinkChunk(jobId, categoryId) > 0) {
+                continue;
+            }
+            if (todoEntryRepository.countByCategoryId(categoryId) == 0) {
+                complete(jobId);
+                return;
+            }
+            // Every remaining todo is locked by another transaction right now
+            Thread.sleep(lockedRetryDelay);
+        }
+    }
+
+    private int unlinkChunk(Long jobId, Long categoryId) {
+        return transactionTemplate.execute(status -> {
+            CategoryDeleteJob job = jobRepository.findById(jobId).orElseThrow();
+            List<Long> ids = todoEntryRepository.lockIdsByCategoryId(categoryId, chunkSize);
+            if (!ids.isEmpty()) {
+                long changeSeq = changeSequence.next();
+                todoEntryRepository.clearCategoryFromTodosById(ids, changeSeq);
+                job.setUnlinkedTodos(job.getUnlinkedTodos() + ids.size());
+                eventPublisher.publishEvent(TodoStatsChangedEvent.unlinked(categoryId,
+                        todoEntryRepository.countStatsGroupsByChangeSeq(changeSeq)));
+            }
+            job.setStatus(CategoryDeleteJobStatus.RUNNING);
+            return ids.size();
+        });
+    }
+
+    private void complete(Long jobId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            CategoryDeleteJob job = jobRepository.findById(jobId).orElseThrow();
+            job.setStatus(CategoryDeleteJobStatus.COMPLETED);
+            job.setFinishedAt(OffsetDateTime.now(ZoneId.of("Europe/Berlin")));
+        });
+    }
+}
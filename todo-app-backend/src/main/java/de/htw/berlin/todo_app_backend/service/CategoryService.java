@@ -1,38 +1,140 @@
 package de.htw.berlin.todo_app_backend.service;
 
+import de.htw.berlin.todo_app_backend.config.CacheConfig;
 import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.CategoryDeleteJob;
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.enums.CategoryDeleteJobStatus;
+import de.htw.berlin.todo_app_backend.exception.CategoryNotFoundException;
+import de.htw.berlin.todo_app_backend.mapper.CategoryMapper;
+import de.htw.berlin.todo_app_backend.repository.CategoryDeleteJobRepository;
 import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ChangeSequence;
 import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Observed(name = "todo.service")
 public class CategoryService {
 
     @Autowired
     private CategoryRepository repo;
     @Autowired
     private ToDoEntryRepository todoEntryRepository;
+    @Autowired
+    private CategoryDeleteJobRepository deleteJobRepository;
+    @Autowired
+    private ChangeSequence changeSequence;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private CategoryMapper categoryMapper;
 
-    public List<Category> getAll() {
-        return repo.findAllByOrderByIdDesc();
+    // The cache holds detached DTOs shared by every caller, never entities a caller could change or flush. Misses
+    // read like any other read-only transaction, from a replica when there is one within todo.replicas.max-lag.
+    @Cacheable(CacheConfig.CATEGORIES)
+    @Transactional(readOnly = true)
+    public List<CategoryDTO> getAll() {
+        return List.copyOf(categoryMapper.toDtoList(repo.findAllByOrderByIdDesc()));
     }
 
-    public Category getById(Long id) {
+    @Cacheable(value = CacheConfig.CATEGORY_BY_ID, key = "#id")
+    @Transactional(readOnly = true)
+    public CategoryDTO getById(Long id) {
         return repo.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+                .map(categoryMapper::toDto)
+                .orElseThrow(CategoryNotFoundException::new);
     }
 
+    // For writes that link a todo to the category; skips the cache, as it must see a delete that just committed
+    @Transactional
+    public Category lockForLinking(Long id) {
+        return repo.lockSharedById(id)
+                .orElseThrow(CategoryNotFoundException::new);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(value = CacheConfig.CATEGORY_BY_ID, key = "#result.id")
+    })
+    @Transactional
     public Category save(Category category) {
-        return repo.save(category);
+        if (category.getId() == null) {
+            category.setVersion(null);
+            return repo.save(category);
+        }
+        Category current = repo.findById(category.getId())
+                .orElseThrow(CategoryNotFoundException::new);
+        checkVersion(category.getVersion(), current.getVersion());
+        current.setName(category.getName());
+        current.setColorHex(category.getColorHex());
+        return current;
     }
 
     @Transactional
-    public void delete(Long id) {
-        todoEntryRepository.clearCategoryFromTodos(id);
-        repo.deleteById(id);
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(value = CacheConfig.CATEGORY_BY_ID, key = "#id")
+    })
+    public void delete(Long id, Long expectedVersion) {
+        Category current = repo.lockById(id).orElse(null);
+        if (current == null) {
+            if (expectedVersion != null) {
+                throw new CategoryNotFoundException();
+            }
+            return;
+        }
+        checkVersion(expectedVersion, current.getVersion());
+        long changeSeq = changeSequence.next();
+        // The unlinked todos are not listed: subscribers clear the category themselves on CATEGORY_DELETED, and the
+        // delta sync picks them up by their change sequence
+        int unlinked = todoEntryRepository.clearCategoryFromTodos(id, changeSeq);
+        // Soft delete: the row stays behind as a tombstone for delta sync
+        current.setDeleted(true);
+        if (unlinked > 0) {
+            eventPublisher.publishEvent(TodoStatsChangedEvent.unlinked(id,
+                    todoEntryRepository.countStatsGroupsByChangeSeq(changeSeq)));
+        }
+        eventPublisher.publishEvent(TodoChangedEvent.categoryDeleted(id));
+    }
+
+    // Deletes the category at once and leaves unlinking its todos to CategoryDeleteWorker
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(value = CacheConfig.CATEGORY_BY_ID, key = "#id")
+    })
+    public CategoryDeleteJob deleteAsync(Long id, Long expectedVersion) {
+        Category current = repo.lockById(id)
+                .orElseThrow(CategoryNotFoundException::new);
+        checkVersion(expectedVersion, current.getVersion());
+        current.setDeleted(true);
+        CategoryDeleteJob job = new CategoryDeleteJob();
+        job.setCategoryId(id);
+        job.setStatus(CategoryDeleteJobStatus.PENDING);
+        job.setTotalTodos(todoEntryRepository.countByCategoryId(id));
+        eventPublisher.publishEvent(TodoChangedEvent.categoryDeleted(id));
+        return deleteJobRepository.save(job);
+    }
+
+    public CategoryDeleteJob getDeleteJob(Long jobId) {
+        return deleteJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Delete job not found"));
+    }
+
+    private void checkVersion(Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new OptimisticLockingFailureException("Category was modified concurrently");
+        }
     }
 }
@@ -0,0 +1,43 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import de.htw.berlin.todo_app_backend.dto.SyncDTO;
+import de.htw.berlin.todo_app_backend.mapper.CategoryMapper;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.SyncMark;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Observed(name = "todo.service")
+public class SyncService {
+
+    @Autowired
+    private ToDoEntryRepository todoRepo;
+    @Autowired
+    private CategoryRepository categoryRepo;
+    @Autowired
+    private SyncMark syncMark;
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    // The mark is taken before reading, so anything committed meanwhile is at worst sent again next time.
+    // Not read-only, so it runs on the primary: a lagging replica could miss changes below the mark for good.
+    @Transactional
+    public SyncDTO sync(Long since) {
+        long highWaterMark = syncMark.current();
+        if (since == null || since > highWaterMark) {
+            return new SyncDTO(highWaterMark, true, todoRepo.findAllDtos(), List.of(),
+                    categoryMapper.toDtoList(categoryRepo.findAllByOrderByIdDesc()), List.of());
+        }
+        return new SyncDTO(highWaterMark, false,
+                todoRepo.findDtosChangedSince(since),
+                todoRepo.findDeletedIdsChangedSince(since),
+                categoryMapper.toDtoList(categoryRepo.findChangedSince(since)),
+                categoryRepo.findDeletedIdsChangedSince(since));
+    }
+}
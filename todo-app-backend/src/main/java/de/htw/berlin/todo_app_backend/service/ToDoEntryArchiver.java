@@ -0,0 +1,58 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+// Moves todos that were completed more than todo.archive.after ago to the archive partition, in batches that commit
+// one by one. GET /todos lists them only with includeArchived; by id, sync, search, export and the stats still see
+// them, so archiving is no change clients are told about. Only the list ETag changes, see todo_archive_generation.
+@Service
+public class ToDoEntryArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(ToDoEntryArchiver.class);
+
+    @Autowired
+    private ToDoEntryRepository todoEntryRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Value("${todo.archive.after:30d}")
+    private Duration archiveAfter;
+    @Value("${todo.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${todo.archive.interval:1h}", fixedDelayString = "${todo.archive.interval:1h}")
+    public void archiveCompletedTodos() {
+        OffsetDateTime cutoff = OffsetDateTime.now(ZoneId.of("Europe/Berlin")).minus(archiveAfter);
+        int total = 0;
+        int archived;
+        do {
+            archived = archiveBatch(cutoff);
+            total += archived;
+        } while (archived == batchSize);
+        if (total > 0) {
+            log.info("Archived {} todos completed before {}", total, cutoff);
+        }
+    }
+
+    private int archiveBatch(OffsetDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = todoEntryRepository.lockArchivableIds(cutoff, batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            todoEntryRepository.bumpArchiveGeneration();
+            return todoEntryRepository.archiveAllById(ids);
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Observed(name = "todo.service")
+public class ToDoEntryExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    @Autowired
+    private ToDoEntryRepository repo;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void writeJsonArray(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ToDoEntryDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<ToDoEntryDTO> rows = repo.streamAllDtos();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            int written = 0;
+            for (Iterator<ToDoEntryDTO> it = rows.iterator(); it.hasNext(); ) {
+                writer.writeValue(generator, it.next());
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ToDoEntryDTO.class);
+        try (Stream<ToDoEntryDTO> rows = repo.streamAllDtos()) {
+            int written = 0;
+            for (Iterator<ToDoEntryDTO> it = rows.iterator(); it.hasNext(); ) {
+                out.write(writer.writeValueAsBytes(it.next()));
+                out.write('\n');
+                if (++written % FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryImportRejectionDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryImportReportDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import de.htw.berlin.todo_app_backend.enums.TodoChangeType;
+import de.htw.berlin.todo_app_backend.exception.InvalidImportException;
+import de.htw.berlin.todo_app_backend.repository.ChangeSequence;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import de.htw.berlin.todo_app_backend.repository.TodoImportStaging;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Loads todos from CSV or NDJSON uploads of any size. Records are parsed, validated and staged one at a time, then
+// merged into to_do_entry in chunks that commit one by one, like CategoryDeleteWorker's. Only the category names,
+// the staging buffer and the reported rejections are held in memory. An import that fails while merging keeps the
+// chunks merged before.
+@Service
+@Observed(name = "todo.service")
+public class ToDoEntryImportService {
+
+    // The same default the UI's category form starts with
+    private static final String DEFAULT_CATEGORY_COLOR = "#4f46e5";
+
+    private record ImportRecord(long row, Map<String, String> fields, String error) {
+    }
+
+    private static final class ImportRun {
+
+        private final Map<String, Long> categoryIds = new HashMap<>();
+        private final List<ToDoEntryImportRejectionDTO> rejections = new ArrayList<>();
+        private long rejected;
+        private int categoriesCreated;
+    }
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Autowired
+    private TodoImportStaging staging;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ToDoEntryRepository todoEntryRepository;
+    @Autowired
+    private ChangeSequence changeSequence;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private Validator validator;
+    @Value("${todo.import.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${todo.import.max-reported-rejections:1000}")
+    private int maxReportedRejections;
+
+    // A header line names the columns: title, description, done, dueDate, priority, createdAt, category and
+    // categoryColorHex. Empty cells count as missing.
+    public ToDoEntryImportReportDTO importCsv(InputStream body) throws IOException {
+        MappingIterator<Map<String, String>> records = csvMapper.readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return importRecords(new Iterator<>() {
+            private long row;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return records.hasNextValue();
+                } catch (IOException ex) {
+                    throw new InvalidImportException("Unreadable CSV after row " + row + ": " + ex.getMessage(), ex);
+                }
+            }
+
+            @Override
+            public ImportRecord next() {
+                row++;
+                try {
+                    Map<String, String> fields = new HashMap<>(records.nextValue());
+                    fields.values().removeIf(String::isEmpty);
+                    return new ImportRecord(row, fields, null);
+                } catch (RuntimeJsonMappingException | IOException ex) {
+                    throw new InvalidImportException("Unreadable CSV in row " + row + ": " + ex.getMessage(), ex);
+                }
+            }
+        });
+    }
+
+    // One JSON object per line with the fields of the CSV columns; category may also be an object with name and
+    // colorHex, so the output of GET /todos/export?format=ndjson can be imported again
+    public ToDoEntryImportReportDTO importNdjson(InputStream body) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Iterator<String> lines = reader.lines().filter(line -> !line.isBlank()).iterator();
+        return importRecords(new Iterator<>() {
+            private long row;
+
+            @Override
+            public boolean hasNext() {
+                return lines.hasNext();
+            }
+
+            @Override
+            public ImportRecord next() {
+                return parseJsonRecord(++row, lines.next());
+            }
+        });
+    }
+
+    private ToDoEntryImportReportDTO importRecords(Iterator<ImportRecord> records) {
+        ImportRun run = new ImportRun();
+        // Names that occur more than once resolve to the oldest category, getAll lists the newest first
+        categoryService.getAll().forEach(category -> run.categoryIds.put(category.getName(), category.getId()));
+        UUID importId = UUID.randomUUID();
+        try {
+            long staged = staging.stage(importId, validRows(records, run));
+            long imported = 0;
+            for (long fromRow = 0; fromRow < staged; fromRow += chunkSize) {
+                imported += mergeChunk(importId, fromRow, Math.min(fromRow + chunkSize, staged));
+            }
+            return new ToDoEntryImportReportDTO(imported, run.rejected, run.categoriesCreated, run.rejections);
+        } finally {
+            staging.discard(importId);
+        }
+    }
+
+    private int mergeChunk(UUID importId, long fromRow, long toRow) {
+        return transactionTemplate.execute(status -> {
+            long changeSeq = changeSequence.next();
+            List<Long> ids = staging.merge(importId, fromRow, toRow, changeSeq);
+            eventPublisher.publishEvent(TodoChangedEvent.of(TodoChangeType.CREATED, ids));
+            eventPublisher.publishEvent(TodoStatsChangedEvent.inserted(
+                    todoEntryRepository.countStatsGroupsByChangeSeq(changeSeq)));
+            return ids.size();
+        });
+    }
+
+    // Skips the records that do not make a valid todo, so staging pulls them one by one as it writes
+    private Iterator<TodoImportStaging.Row> validRows(Iterator<ImportRecord> records, ImportRun run) {
+        return new Iterator<>() {
+            private TodoImportStaging.Row next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && records.hasNext()) {
+                    next = toRow(records.next(), run);
+                }
+                return next != null;
+            }
+
+            @Override
+            public TodoImportStaging.Row next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                TodoImportStaging.Row row = next;
+                next = null;
+                return row;
+            }
+        };
+    }
+
+    private TodoImportStaging.Row toRow(ImportRecord record, ImportRun run) {
+        if (record.error() != null) {
+            reject(run, record.row(), List.of(record.error()));
+            return null;
+        }
+        Map<String, String> fields = record.fields();
+        List<String> errors = new ArrayList<>();
+        ToDoEntryDTO dto = new ToDoEntryDTO();
+        dto.setTitle(fields.get("title"));
+        dto.setDescription(fields.get("description"));
+        Boolean done = parse(fields, "done", ToDoEntryImportService::parseBoolean, "must be true or false", errors);
+        dto.setDone(done != null && done);
+        dto.setDueDate(parse(fields, "dueDate", LocalDate::parse, "must be a date like 2025-01-31", errors));
+        dto.setPriority(parse(fields, "priority", value -> Priority.valueOf(value.toUpperCase(Locale.ROOT)),
+                "must be LOW, MEDIUM or HIGH", errors));
+        dto.setCreatedAt(parse(fields, "createdAt", OffsetDateTime::parse,
+                "must be a date-time with offset like 2025-01-31T12:00:00+01:00", errors));
+        for (ConstraintViolation<ToDoEntryDTO> violation : validator.validate(dto)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+
+        String categoryName = fields.get("category");
+        if (categoryName != null && !run.categoryIds.containsKey(categoryName)) {
+            CategoryDTO category = new CategoryDTO(null, categoryName,
+                    fields.getOrDefault("categoryColorHex", DEFAULT_CATEGORY_COLOR), null);
+            for (ConstraintViolation<CategoryDTO> violation : validator.validate(category)) {
+                String field = violation.getPropertyPath().toString().equals("name") ? "category" : "categoryColorHex";
+                errors.add(field + ": " + violation.getMessage());
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            errors.sort(null);
+            reject(run, record.row(), errors);
+            return null;
+        }
+        Long categoryId = categoryName != null ? resolveCategory(run, categoryName, fields.get("categoryColorHex")) : null;
+        OffsetDateTime createdAt = dto.getCreatedAt() != null
+                ? dto.getCreatedAt()
+                : OffsetDateTime.now(ZoneId.of("Europe/Berlin"));
+        return new TodoImportStaging.Row(dto.getTitle(), dto.getDescription(), dto.isDone(), dto.getDueDate(),
+                dto.getPriority(), categoryId, createdAt);
+    }
+
+    private Long resolveCategory(ImportRun run, String name, String colorHex) {
+        return run.categoryIds.computeIfAbsent(name, key -> {
+            Category category = new Category();
+            category.setName(key);
+            category.setColorHex(colorHex != null ? colorHex : DEFAULT_CATEGORY_COLOR);
+            run.categoriesCreated++;
+            return categoryService.save(category).getId();
+        });
+    }
+
+    private void reject(ImportRun run, long row, List<String> errors) {
+        run.rejected++;
+        if (run.rejections.size() < maxReportedRejections) {
+            run.rejections.add(new ToDoEntryImportRejectionDTO(row, errors));
+        }
+    }
+
+    private ImportRecord parseJsonRecord(long row, String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException ex) {
+            return new ImportRecord(row, null, "Unreadable JSON: " + ex.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return new ImportRecord(row, null, "Expected a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        node.properties().forEach(property -> {
+            JsonNode value = property.getValue();
+            if (property.getKey().equals("category") && value.isObject()) {
+                putText(fields, "category", value.get("name"));
+                putText(fields, "categoryColorHex", value.get("colorHex"));
+            } else {
+                putText(fields, property.getKey(), value);
+            }
+        });
+        return new ImportRecord(row, fields, null);
+    }
+
+    private static void putText(Map<String, String> fields, String field, JsonNode value) {
+        if (value != null && !value.isNull()) {
+            fields.put(field, value.isValueNode() ? value.asText() : value.toString());
+        }
+    }
+
+    private static <T> T parse(Map<String, String> fields, String field, Function<String, T> parser, String expected,
+                               List<String> errors) {
+        String value = fields.get(field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (RuntimeException ex) {
+            errors.add(field + ": " + expected);
+            return null;
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException(value);
+        };
+    }
+}
@@ -1,39 +1,267 @@
 package de.htw.berlin.todo_app_backend.service;
 
+import de.htw.berlin.todo_app_backend.domain.Category;
 import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryFilterDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryPatchDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoSearchHitDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO;
+import de.htw.berlin.todo_app_backend.enums.TodoChangeType;
+import de.htw.berlin.todo_app_backend.exception.InvalidSortException;
+import de.htw.berlin.todo_app_backend.repository.ChangeSequence;
 import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntrySpecifications;
+import de.htw.berlin.todo_app_backend.util.CursorCodec.RankedCursor;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "todo.service")
 public class ToDoEntryService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "title", "done", "dueDate", "priority", "createdAt");
+
+    public record SearchResult(ToDoEntryDTO todo, float score) {
+    }
+
     @Autowired
     private ToDoEntryRepository repo;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ChangeSequence changeSequence;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TodoSearchIndex searchIndex;
 
+    @Transactional(readOnly = true)
     public List<ToDoEntry> getAll() {
         return repo.findAllByOrderByIdDesc();
     }
 
+    @Transactional(readOnly = true)
+    public List<ToDoEntryDTO> getAllDtos(boolean includeArchived) {
+        return includeArchived ? repo.findAllDtos() : repo.findUnarchivedDtos();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ToDoEntryDTO> getDtoPage(Long afterId, int limit, boolean includeArchived) {
+        long upperBound = afterId != null ? afterId : Long.MAX_VALUE;
+        return includeArchived
+                ? repo.findDtosBelowId(upperBound, Limit.of(limit))
+                : repo.findUnarchivedDtosBelowId(upperBound, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ToDoEntryDTO> search(ToDoEntryFilterDTO filter, Sort sort, Long afterId, Limit limit) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_FIELDS.contains(order.getProperty())) {
+                throw new InvalidSortException("Cannot sort by " + order.getProperty());
+            }
+        }
+        Specification<ToDoEntry> spec = ToDoEntrySpecifications.matching(filter);
+        if (afterId != null) {
+            spec = spec.and(ToDoEntrySpecifications.idBelow(afterId));
+        }
+        Sort stableSort = sort.getOrderFor("id") != null ? sort : sort.and(Sort.by(Sort.Direction.DESC, "id"));
+        return repo.findDtos(spec, stableSort, limit);
+    }
+
+    // Ranked full-text search; hits of todos deleted since the in-memory index saw them are dropped
+    @Transactional(readOnly = true)
+    public List<SearchResult> searchText(String query, Long categoryId, RankedCursor after, int limit) {
+        List<TodoSearchHitDTO> hits = repo.supportsFullTextSearch()
+                ? repo.searchRanked(query, categoryId, after, limit)
+                : searchIndex.search(query, categoryId, after, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ToDoEntryDTO> todos = repo.findDtosByIdIn(hits.stream().map(TodoSearchHitDTO::getId).toList()).stream()
+                .collect(Collectors.toMap(ToDoEntryDTO::getId, Function.identity()));
+        List<SearchResult> results = new ArrayList<>(hits.size());
+        for (TodoSearchHitDTO hit : hits) {
+            ToDoEntryDTO todo = todos.get(hit.getId());
+            if (todo != null) {
+                results.add(new SearchResult(todo, hit.getScore()));
+            }
+        }
+        return results;
+    }
+
+    @Transactional(readOnly = true)
+    public String getListStamp(boolean includeArchived) {
+        return repo.findListStamp(includeArchived);
+    }
+
+    @Transactional(readOnly = true)
     public ToDoEntry getById(Long id) {
         return repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Todo not found"));
     }
 
+    @Transactional
     public ToDoEntry save(ToDoEntry entry) {
-        if (entry.getId() != null) {
-            repo.findById(entry.getId())
-                    .map(ToDoEntry::getCreatedAt)
-                    .ifPresent(entry::setCreatedAt);
+        if (entry.getId() == null) {
+            entry.setVersion(null);
+            ToDoEntry saved = repo.save(entry);
+            publish(TodoChangeType.CREATED, List.of(saved.getId()));
+            eventPublisher.publishEvent(TodoStatsChangedEvent.created(List.of(saved)));
+            return saved;
+        }
+        ToDoEntry current = getById(entry.getId());
+        checkVersion(entry.getVersion(), current.getVersion());
+        TodoStatsGroupDTO before = TodoStatsChangedEvent.groupOf(current);
+        applyChanges(entry, current);
+        publish(TodoChangeType.UPDATED, List.of(current.getId()));
+        eventPublisher.publishEvent(TodoStatsChangedEvent.changed(List.of(before),
+                List.of(TodoStatsChangedEvent.groupOf(current))));
+        return current;
+    }
+
+    @Transactional
+    public void patch(Long id, ToDoEntryPatchDTO patch, Long expectedVersion) {
+        // The update itself returns what the stats counted the todo by, so the patch stays a single statement
+        TodoStatsGroupDTO before = repo.patch(id, patch, expectedVersion)
+                .orElseThrow(() -> patchFailure(id, patch, expectedVersion));
+        publish(TodoChangeType.UPDATED, List.of(id));
+        TodoStatsGroupDTO after = patched(before, patch);
+        if (!after.equals(before)) {
+            eventPublisher.publishEvent(TodoStatsChangedEvent.changed(List.of(before), List.of(after)));
+        }
+    }
+
+    @Transactional
+    public void delete(Long id, Long expectedVersion) {
+        ToDoEntry current = repo.findById(id).orElse(null);
+        if (current == null) {
+            if (expectedVersion != null) {
+                throw new RuntimeException("Todo not found");
+            }
+            return;
+        }
+        checkVersion(expectedVersion, current.getVersion());
+        // Soft delete: the row stays behind as a tombstone for delta sync
+        eventPublisher.publishEvent(TodoStatsChangedEvent.deleted(List.of(TodoStatsChangedEvent.groupOf(current))));
+        current.setDeleted(true);
+        current.setCategory(null);
+        publish(TodoChangeType.DELETED, List.of(id));
+    }
+
+    @Transactional
+    public List<ToDoEntry> createAll(List<ToDoEntry> entries) {
+        entries.forEach(entry -> {
+            entry.setId(null);
+            entry.setVersion(null);
+        });
+        List<ToDoEntry> saved = repo.saveAll(entries);
+        publish(TodoChangeType.CREATED, saved.stream().map(ToDoEntry::getId).toList());
+        eventPublisher.publishEvent(TodoStatsChangedEvent.created(saved));
+        return saved;
+    }
+
+    @Transactional
+    public List<ToDoEntry> updateAll(List<ToDoEntry> entries) {
+        List<Long> ids = entries.stream().map(ToDoEntry::getId).toList();
+        Map<Long, ToDoEntry> existing = repo.findAllById(ids).stream()
+                .collect(Collectors.toMap(ToDoEntry::getId, Function.identity()));
+        List<ToDoEntry> updated = new ArrayList<>(entries.size());
+        List<TodoStatsGroupDTO> before = new ArrayList<>(entries.size());
+        for (ToDoEntry entry : entries) {
+            ToDoEntry current = existing.get(entry.getId());
+            if (current == null) {
+                throw new RuntimeException("Todo not found");
+            }
+            checkVersion(entry.getVersion(), current.getVersion());
+            before.add(TodoStatsChangedEvent.groupOf(current));
+            applyChanges(entry, current);
+            updated.add(current);
         }
-        return repo.save(entry);
+        publish(TodoChangeType.UPDATED, ids);
+        eventPublisher.publishEvent(TodoStatsChangedEvent.changed(before,
+                updated.stream().map(TodoStatsChangedEvent::groupOf).toList()));
+        return updated;
     }
 
-    public void delete(Long id) {
-        repo.deleteById(id);
+    @Transactional
+    public void deleteAll(List<Long> ids) {
+        List<TodoStatsGroupDTO> deleted = repo.lockStatsGroupsByIdIn(ids);
+        repo.softDeleteAllById(ids, changeSequence.next());
+        publish(TodoChangeType.DELETED, ids);
+        eventPublisher.publishEvent(TodoStatsChangedEvent.deleted(deleted));
+    }
+
+    // Delivered to the change feed only once the surrounding transaction has committed
+    private void publish(TodoChangeType type, List<Long> ids) {
+        eventPublisher.publishEvent(TodoChangedEvent.of(type, ids));
+    }
+
+    private void checkVersion(Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new OptimisticLockingFailureException("Todo was modified concurrently");
+        }
+    }
+
+    // Only reached once the patch updated nothing, so the reads that tell why stay off the common path
+    private RuntimeException patchFailure(Long id, ToDoEntryPatchDTO patch, Long expectedVersion) {
+        if (patch.getCategoryId() != null) {
+            categoryService.lockForLinking(patch.getCategoryId());
+        }
+        if (expectedVersion != null && repo.existsById(id)) {
+            return new OptimisticLockingFailureException("Todo was modified concurrently");
+        }
+        return new RuntimeException("Todo not found");
+    }
+
+    private static TodoStatsGroupDTO patched(TodoStatsGroupDTO group, ToDoEntryPatchDTO patch) {
+        return new TodoStatsGroupDTO(
+                patch.getCategoryId() != null ? patch.getCategoryId() : group.getCategoryId(),
+                patch.getPriority() != null ? patch.getPriority() : group.getPriority(),
+                patch.getDone() != null ? patch.getDone() : group.isDone(),
+                patch.getDueDate() != null ? patch.getDueDate() : group.getDueDate(),
+                group.getCount());
+    }
+
+    private void applyChanges(ToDoEntry source, ToDoEntry target) {
+        target.setTitle(source.getTitle());
+        target.setDescription(source.getDescription());
+        if (source.isDone() && !target.isDone()) {
+            target.setCompletedAt(OffsetDateTime.now(ZoneId.of("Europe/Berlin")));
+        } else if (!source.isDone()) {
+            // Reopening an archived todo moves it back to the active partition
+            target.setCompletedAt(null);
+            target.setArchived(false);
+        }
+        target.setDone(source.isDone());
+        target.setDueDate(source.getDueDate());
+        target.setPriority(source.getPriority());
+        target.setCategory(resolveCategory(source.getCategory(), target.getCategory()));
+    }
+
+    private Category resolveCategory(Category requested, Category current) {
+        if (requested == null || requested.getId() == null) {
+            return null;
+        }
+        if (current != null && requested.getId().equals(current.getId())) {
+            return current;
+        }
+        return categoryService.lockForLinking(requested.getId());
     }
 }
@@ -0,0 +1,298 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoChangeDTO;
+import de.htw.berlin.todo_app_backend.enums.TodoChangeType;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Keeps the last changes in a ring buffer and pushes new ones to the connected SSE clients.
+// Event ids are "<epoch>-<sequence>", so a client reconnecting after a restart gets a RESET instead of a gap.
+@Component
+public class TodoChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoChangeFeed.class);
+    private static final int SUBSCRIBER_QUEUE_CAPACITY = 256;
+    // Keeps each snapshot query well below PostgreSQL's limit of bind parameters
+    private static final int SNAPSHOT_CHUNK_SIZE = 500;
+
+    private record Change(long sequence, TodoChangeType type, Long todoId, Long categoryId) {
+    }
+
+    private record Message(long sequence, TodoChangeDTO change) {
+    }
+
+    private final ToDoEntryRepository repo;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Change[] buffer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // The version of the latest snapshot broadcast per todo, for the last changes only
+    private final Map<Long, Long> broadcastVersions;
+    private long nextSequence = 1;
+
+    public TodoChangeFeed(ToDoEntryRepository repo,
+                          @Value("${todo.change-feed.buffer-size:1000}") int bufferSize,
+                          @Value("${todo.change-feed.timeout:30m}") Duration timeout,
+                          @Value("${todo.change-feed.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.repo = repo;
+        this.buffer = new Change[bufferSize];
+        this.broadcastVersions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > bufferSize;
+            }
+        };
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        try {
+            // Without listeners only the compact change is buffered; snapshots are loaded when someone replays it
+            Map<Long, ToDoEntryDTO> snapshots = subscribers.isEmpty() ? Map.of() : tryLoadSnapshots(event);
+            synchronized (this) {
+                if (event.type() == TodoChangeType.CATEGORY_DELETED) {
+                    broadcast(append(event.type(), null, event.categoryId()), null);
+                    return;
+                }
+                for (Long todoId : event.todoIds()) {
+                    broadcast(append(event.type(), todoId, null), inOrder(event.type(), todoId, snapshots.get(todoId)));
+                }
+            }
+        } catch (RuntimeException ex) {
+            // The transaction is already committed, so a failing feed must not fail the request
+            log.warn("Could not publish todo change {}", event, ex);
+        }
+    }
+
+    // Without snapshots the change is still sequenced, and each subscriber loads the todo when it sends the event
+    private Map<Long, ToDoEntryDTO> tryLoadSnapshots(TodoChangedEvent event) {
+        try {
+            return loadSnapshots(event.type(), event.todoIds());
+        } catch (RuntimeException ex) {
+            log.warn("Could not load the snapshots for todo change {}, sending ids only", event, ex);
+            return Map.of();
+        }
+    }
+
+    // Snapshots are loaded outside the lock, so a later change can be sequenced first. A snapshot older than the one
+    // already sent is dropped, as is any after a delete, and the subscriber loads the current state instead.
+    private ToDoEntryDTO inOrder(TodoChangeType type, Long todoId, ToDoEntryDTO snapshot) {
+        if (type == TodoChangeType.DELETED) {
+            broadcastVersions.put(todoId, Long.MAX_VALUE);
+            return null;
+        }
+        if (snapshot == null) {
+            return null;
+        }
+        Long sentVersion = broadcastVersions.get(todoId);
+        if (sentVersion != null && sentVersion > snapshot.getVersion()) {
+            return null;
+        }
+        broadcastVersions.put(todoId, snapshot.getVersion());
+        return snapshot;
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+
+        synchronized (this) {
+            Optional<List<Change>> missed = lastEventId != null ? changesAfter(lastEventId) : Optional.of(List.of());
+            subscriber.start(missed.orElse(null), eventId(nextSequence - 1));
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    public synchronized String lastEventId() {
+        return eventId(nextSequence - 1);
+    }
+
+    @PreDestroy
+    public void disconnectAll() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private Change append(TodoChangeType type, Long todoId, Long categoryId) {
+        Change change = new Change(nextSequence++, type, todoId, categoryId);
+        buffer[(int) (change.sequence() % buffer.length)] = change;
+        return change;
+    }
+
+    private void broadcast(Change change, ToDoEntryDTO snapshot) {
+        Message message = new Message(change.sequence(),
+                new TodoChangeDTO(change.type(), change.todoId(), change.categoryId(), snapshot));
+        subscribers.forEach(subscriber -> subscriber.offer(message));
+    }
+
+    // Empty when the client is too far behind (or from another server run) to be caught up from the buffer
+    private Optional<List<Change>> changesAfter(String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return Optional.empty();
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+        long oldestBuffered = Math.max(1, nextSequence - buffer.length);
+        if (lastSequence >= nextSequence || lastSequence + 1 < oldestBuffered) {
+            return Optional.empty();
+        }
+        List<Change> changes = new ArrayList<>();
+        for (long sequence = lastSequence + 1; sequence < nextSequence; sequence++) {
+            changes.add(buffer[(int) (sequence % buffer.length)]);
+        }
+        return Optional.of(changes);
+    }
+
+    private Map<Long, ToDoEntryDTO> loadSnapshots(TodoChangeType type, List<Long> todoIds) {
+        if (!isUpsert(type)) {
+            return Map.of();
+        }
+        Map<Long, ToDoEntryDTO> snapshots = new HashMap<>();
+        for (int from = 0; from < todoIds.size(); from += SNAPSHOT_CHUNK_SIZE) {
+            List<Long> chunk = todoIds.subList(from, Math.min(from + SNAPSHOT_CHUNK_SIZE, todoIds.size()));
+            snapshots.putAll(repo.findDtosByIdIn(chunk).stream()
+                    .collect(Collectors.toMap(ToDoEntryDTO::getId, Function.identity())));
+        }
+        return snapshots;
+    }
+
+    private static boolean isUpsert(TodoChangeType type) {
+        return type == TodoChangeType.CREATED || type == TodoChangeType.UPDATED;
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // Each client gets its own queue and virtual thread, so a slow connection never blocks the committing request
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue = new ArrayBlockingQueue<>(SUBSCRIBER_QUEUE_CAPACITY);
+        private List<Change> replay;
+        private String resetEventId;
+        private Thread thread;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // A null replay means the client could not be caught up and is told to reload from the given event id on
+        private void start(List<Change> missed, String currentEventId) {
+            this.replay = missed;
+            this.resetEventId = currentEventId;
+            this.thread = Thread.ofVirtual().name("todo-change-feed").start(this);
+        }
+
+        private void offer(Message message) {
+            if (!queue.offer(message)) {
+                // Too far behind: drop the connection, the client resumes from the buffer via Last-Event-ID
+                emitter.complete();
+                close();
+            }
+        }
+
+        private void close() {
+            subscribers.remove(this);
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                emitter.send(SseEmitter.event().comment("connected"));
+                if (replay == null) {
+                    emitter.send(SseEmitter.event().id(resetEventId).name(TodoChangeType.RESET.name())
+                            .data(new TodoChangeDTO(TodoChangeType.RESET, null, null, null), MediaType.APPLICATION_JSON));
+                } else {
+                    sendReplay();
+                }
+                while (!Thread.currentThread().isInterrupted()) {
+                    Message message = queue.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (message == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        send(message);
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Replayed creates and updates carry the current state of the todo, not the state at the time of the change
+        private void sendReplay() throws IOException {
+            List<Long> changedIds = replay.stream()
+                    .filter(change -> isUpsert(change.type()))
+                    .map(Change::todoId)
+                    .distinct()
+                    .toList();
+            Map<Long, ToDoEntryDTO> snapshots = changedIds.isEmpty() ? Map.of() : loadSnapshots(TodoChangeType.UPDATED, changedIds);
+            for (Change change : replay) {
+                ToDoEntryDTO todo = isUpsert(change.type()) ? snapshots.get(change.todoId()) : null;
+                if (isUpsert(change.type()) && todo == null) {
+                    continue;
+                }
+                send(new Message(change.sequence(),
+                        new TodoChangeDTO(change.type(), change.todoId(), change.categoryId(), todo)));
+            }
+        }
+
+        private void send(Message message) throws IOException {
+            TodoChangeDTO change = message.change();
+            if (isUpsert(change.getType()) && change.getTodo() == null) {
+                // Subscribed after the snapshots were loaded; a todo that is already gone again is announced by its DELETED event
+                ToDoEntryDTO todo = loadSnapshots(change.getType(), List.of(change.getTodoId())).get(change.getTodoId());
+                if (todo == null) {
+                    return;
+                }
+                change = new TodoChangeDTO(change.getType(), change.getTodoId(), change.getCategoryId(), todo);
+            }
+            emitter.send(SseEmitter.event()
+                    .id(eventId(message.sequence()))
+                    .name(change.getType().name())
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+    }
+}
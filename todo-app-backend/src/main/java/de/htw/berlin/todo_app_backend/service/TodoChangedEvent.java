@@ -0,0 +1,16 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import de.htw.berlin.todo_app_backend.enums.TodoChangeType;
+
+import java.util.List;
+
+public record TodoChangedEvent(TodoChangeType type, List<Long> todoIds, Long categoryId) {
+
+    public static TodoChangedEvent of(TodoChangeType type, List<Long> todoIds) {
+        return new TodoChangedEvent(type, List.copyOf(todoIds), null);
+    }
+
+    public static TodoChangedEvent categoryDeleted(Long categoryId) {
+        return new TodoChangedEvent(TodoChangeType.CATEGORY_DELETED, List.of(), categoryId);
+    }
+}
@@ -0,0 +1,182 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoSearchHitDTO;
+import de.htw.berlin.todo_app_backend.enums.TodoChangeType;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import de.htw.berlin.todo_app_backend.util.CursorCodec.RankedCursor;
+import de.htw.berlin.todo_app_backend.util.SearchTerms;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Serves GET /todos/search on databases without the PostgreSQL search indexes, i.e. H2 in the test profile.
+// It follows the native search: every query word has to prefix a title or description word, or the query has to be
+// similar to the title by trigrams; title words rank above description words. Scores are comparable only with each
+// other, not with the PostgreSQL ones. Built on the first search and kept current by the committed todo changes.
+@Component
+public class TodoSearchIndex {
+
+    // pg_trgm's default word_similarity_threshold
+    private static final float SIMILARITY_THRESHOLD = 0.6f;
+    // ts_rank's default weights for A (title) and B (description)
+    private static final float TITLE_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 0.4f;
+
+    private record Document(Long categoryId, Set<String> titleWords, Set<String> descriptionWords,
+                            Set<String> titleTrigrams) {
+    }
+
+    private final ToDoEntryRepository repo;
+    private final Map<Long, Document> documents = new HashMap<>();
+    // Word -> ids, sorted so a prefix is a range of the map
+    private final NavigableMap<String, Set<Long>> words = new TreeMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+    private boolean built;
+
+    public TodoSearchIndex(ToDoEntryRepository repo) {
+        this.repo = repo;
+    }
+
+    // Reloads the changed todos rather than trusting the event, so changes applied out of order still end current
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onTodoChanged(TodoChangedEvent event) {
+        if (!built) {
+            return;
+        }
+        if (event.type() == TodoChangeType.CATEGORY_DELETED) {
+            // The todos come with no event of their own, and the index only keeps their category id
+            documents.replaceAll((id, document) -> event.categoryId().equals(document.categoryId())
+                    ? new Document(null, document.titleWords(), document.descriptionWords(), document.titleTrigrams())
+                    : document);
+            return;
+        }
+        event.todoIds().forEach(this::remove);
+        if (event.type() != TodoChangeType.DELETED) {
+            repo.findDtosByIdIn(event.todoIds()).forEach(this::add);
+        }
+    }
+
+    public synchronized List<TodoSearchHitDTO> search(String query, Long categoryId, RankedCursor after, int limit) {
+        List<String> queryWords = SearchTerms.words(query);
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        if (!built) {
+            repo.findAllDtos().forEach(this::add);
+            built = true;
+        }
+        Set<String> queryTrigrams = trigramsOf(queryWords);
+        Set<Long> candidates = new HashSet<>();
+        queryTrigrams.forEach(trigram -> candidates.addAll(trigrams.getOrDefault(trigram, Set.of())));
+        candidates.addAll(idsWithPrefix(queryWords.get(0)));
+
+        List<TodoSearchHitDTO> hits = new ArrayList<>();
+        for (Long id : candidates) {
+            Document document = documents.get(id);
+            if (categoryId != null && !categoryId.equals(document.categoryId())) {
+                continue;
+            }
+            float rank = rank(document, queryWords);
+            float similarity = similarity(queryTrigrams, document.titleTrigrams());
+            if (rank == 0 && similarity < SIMILARITY_THRESHOLD) {
+                continue;
+            }
+            TodoSearchHitDTO hit = new TodoSearchHitDTO(id, rank + similarity);
+            if (after == null || hit.getScore() < after.score()
+                    || (hit.getScore() == after.score() && id < after.id())) {
+                hits.add(hit);
+            }
+        }
+        return hits.stream()
+                .sorted(Comparator.comparing(TodoSearchHitDTO::getScore).reversed()
+                        .thenComparing(TodoSearchHitDTO::getId, Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    // 0 unless every query word prefixes a word of the todo
+    private static float rank(Document document, List<String> queryWords) {
+        float rank = 0;
+        for (String queryWord : queryWords) {
+            if (hasPrefix(document.titleWords(), queryWord)) {
+                rank += TITLE_WEIGHT;
+            } else if (hasPrefix(document.descriptionWords(), queryWord)) {
+                rank += DESCRIPTION_WEIGHT;
+            } else {
+                return 0;
+            }
+        }
+        return rank / queryWords.size();
+    }
+
+    private static boolean hasPrefix(Set<String> documentWords, String prefix) {
+        return documentWords.stream().anyMatch(word -> word.startsWith(prefix));
+    }
+
+    // Share of the query trigrams found in the title, like word_similarity(query, title) without its extent limit
+    private static float similarity(Set<String> queryTrigrams, Set<String> titleTrigrams) {
+        if (queryTrigrams.isEmpty()) {
+            return 0;
+        }
+        long shared = queryTrigrams.stream().filter(titleTrigrams::contains).count();
+        return (float) shared / queryTrigrams.size();
+    }
+
+    // pg_trgm pads each word with two spaces in front and one behind: "cat" -> "  c", " ca", "cat", "at "
+    private static Set<String> trigramsOf(List<String> text) {
+        Set<String> result = new HashSet<>();
+        for (String word : text) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+
+    private Set<Long> idsWithPrefix(String prefix) {
+        Set<Long> ids = new HashSet<>();
+        words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().forEach(ids::addAll);
+        return ids;
+    }
+
+    private void add(ToDoEntryDTO todo) {
+        List<String> titleWords = SearchTerms.words(todo.getTitle());
+        List<String> descriptionWords = SearchTerms.words(todo.getDescription());
+        Long categoryId = todo.getCategory() != null ? todo.getCategory().getId() : null;
+        Document document = new Document(categoryId, Set.copyOf(titleWords), Set.copyOf(descriptionWords),
+                trigramsOf(titleWords));
+        documents.put(todo.getId(), document);
+        document.titleWords().forEach(word -> words.computeIfAbsent(word, key -> new HashSet<>()).add(todo.getId()));
+        document.descriptionWords().forEach(word -> words.computeIfAbsent(word, key -> new HashSet<>()).add(todo.getId()));
+        document.titleTrigrams().forEach(trigram -> trigrams.computeIfAbsent(trigram, key -> new HashSet<>()).add(todo.getId()));
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        document.titleWords().forEach(word -> removeId(words, word, id));
+        document.descriptionWords().forEach(word -> removeId(words, word, id));
+        document.titleTrigrams().forEach(trigram -> removeId(trigrams, trigram, id));
+    }
+
+    private static void removeId(Map<String, Set<Long>> index, String key, Long id) {
+        Set<Long> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import de.htw.berlin.todo_app_backend.dto.CategoryStatsDTO;
+import de.htw.berlin.todo_app_backend.dto.PriorityStatsDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoStatsDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Open, done and overdue counts per category and priority, kept in memory and moved by the delta of every committed
+// write, so reading them costs O(categories) instead of a scan over all todos. Open todos that are not overdue yet
+// are bucketed by due date, and the buckets of days that have passed are folded into the overdue count.
+// A scheduled recount from the database replaces the counters when they have drifted, e.g. after writes that bypass
+// the services. Like the change feed this assumes a single backend instance.
+@Service
+public class TodoStats {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoStats.class);
+
+    private record CellKey(Long categoryId, Priority priority) {
+    }
+
+    private record CellCounts(long open, long done, long overdue, Map<LocalDate, Long> openByDueDate) {
+    }
+
+    private static final class Cell {
+
+        private final LongAdder open = new LongAdder();
+        private final LongAdder done = new LongAdder();
+        private final LongAdder overdue = new LongAdder();
+        private final NavigableMap<LocalDate, LongAdder> openByDueDate = new ConcurrentSkipListMap<>();
+
+        private CellCounts counts() {
+            Map<LocalDate, Long> dueDates = new TreeMap<>();
+            openByDueDate.forEach((date, count) -> {
+                if (count.sum() != 0) {
+                    dueDates.put(date, count.sum());
+                }
+            });
+            return new CellCounts(open.sum(), done.sum(), overdue.sum(), dueDates);
+        }
+    }
+
+    private final ToDoEntryRepository repo;
+    private final Clock clock;
+    private final Counter drift;
+    // Deltas are applied under the read lock; a new day and swapping in recounted cells take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Transactions between beforeCommit and the delta being applied; a recount overlapping one cannot be trusted
+    private final AtomicLong committing = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private volatile Map<CellKey, Cell> cells = new ConcurrentHashMap<>();
+    private volatile LocalDate today;
+    private volatile boolean counted;
+
+    @Autowired
+    public TodoStats(ToDoEntryRepository repo, MeterRegistry registry) {
+        this(repo, registry, Clock.system(ZoneId.of("Europe/Berlin")));
+    }
+
+    TodoStats(ToDoEntryRepository repo, MeterRegistry registry, Clock clock) {
+        this.repo = repo;
+        this.clock = clock;
+        this.today = LocalDate.now(clock);
+        this.drift = Counter.builder("todo.stats.drift")
+                .description("Recounts that found the incrementally maintained todo stats off")
+                .register(registry);
+    }
+
+    @EventListener
+    public void onStatsChanged(TodoStatsChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committingCounted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing.incrementAndGet();
+                committingCounted = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(event);
+                    }
+                } finally {
+                    if (committingCounted) {
+                        committing.decrementAndGet();
+                    }
+                }
+            }
+        });
+    }
+
+    public TodoStatsDTO getStats() {
+        if (!counted) {
+            recount();
+        }
+        rollOver();
+        Map<Long, CategoryStatsDTO> categories = new HashMap<>();
+        Map<Priority, PriorityStatsDTO> priorities = new HashMap<>();
+        LocalDate date;
+        long open = 0;
+        long done = 0;
+        long overdue = 0;
+        lock.readLock().lock();
+        try {
+            date = today;
+            for (Map.Entry<CellKey, Cell> entry : cells.entrySet()) {
+                Cell cell = entry.getValue();
+                long cellOpen = cell.open.sum();
+                long cellDone = cell.done.sum();
+                long cellOverdue = cell.overdue.sum();
+                if (cellOpen == 0 && cellDone == 0) {
+                    continue;
+                }
+                CategoryStatsDTO category = categories.computeIfAbsent(entry.getKey().categoryId(),
+                        id -> new CategoryStatsDTO(id, 0, 0, 0));
+                category.setOpen(category.getOpen() + cellOpen);
+                category.setDone(category.getDone() + cellDone);
+                category.setOverdue(category.getOverdue() + cellOverdue);
+                PriorityStatsDTO priority = priorities.computeIfAbsent(entry.getKey().priority(),
+                        p -> new PriorityStatsDTO(p, 0, 0, 0));
+                priority.setOpen(priority.getOpen() + cellOpen);
+                priority.setDone(priority.getDone() + cellDone);
+                priority.setOverdue(priority.getOverdue() + cellOverdue);
+                open += cellOpen;
+                done += cellDone;
+                overdue += cellOverdue;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new TodoStatsDTO(date, open, done, overdue,
+                categories.values().stream()
+                        .sorted(Comparator.comparing(CategoryStatsDTO::getCategoryId,
+                                Comparator.nullsLast(Comparator.naturalOrder())))
+                        .toList(),
+                priorities.values().stream()
+                        .sorted(Comparator.comparing(PriorityStatsDTO::getPriority,
+                                Comparator.nullsLast(Comparator.naturalOrder())))
+                        .toList());
+    }
+
+    // Recounts from the database and replaces the counters if they differ; returns whether drift was found.
+    // The first recount fills the counters, on the first read, later ones are skipped while writes commit, as their
+    // deltas could be in the counters but not in the recount or the other way around.
+    @Scheduled(initialDelayString = "${todo.stats.verify-interval:1h}", fixedDelayString = "${todo.stats.verify-interval:1h}")
+    public synchronized boolean recount() {
+        LocalDate date = rollOver();
+        long appliedBefore = applied.get();
+        boolean quiet = committing.get() == 0;
+        List<TodoStatsGroupDTO> groups = repo.countStatsGroups(date, date.minusDays(1));
+        Map<CellKey, Cell> recounted = new ConcurrentHashMap<>();
+        for (TodoStatsGroupDTO group : groups) {
+            add(recounted, date, group, group.getCount());
+        }
+        lock.writeLock().lock();
+        try {
+            boolean consistent = quiet && committing.get() == 0 && applied.get() == appliedBefore && date.equals(today);
+            if (!counted) {
+                cells = recounted;
+                counted = true;
+                if (!consistent) {
+                    log.info("Todo stats were counted while writes committed, they are checked again on the next recount");
+                }
+                return false;
+            }
+            if (!consistent) {
+                log.debug("Skipped the todo stats recount, writes committed meanwhile");
+                return false;
+            }
+            Map<CellKey, CellCounts> expected = snapshot(recounted);
+            Map<CellKey, CellCounts> actual = snapshot(cells);
+            if (expected.equals(actual)) {
+                return false;
+            }
+            log.warn("Todo stats drifted, replacing {} counted cells with {} recounted ones", actual.size(), expected.size());
+            drift.increment();
+            cells = recounted;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(TodoStatsChangedEvent event) {
+        rollOver();
+        lock.readLock().lock();
+        try {
+            // Read under the lock, so no new day can fold the due date buckets while this delta is added
+            LocalDate date = today;
+            Map<CellKey, Cell> current = cells;
+            for (TodoStatsGroupDTO group : event.removed()) {
+                add(current, date, group, -group.getCount());
+            }
+            for (TodoStatsGroupDTO group : event.added()) {
+                add(current, date, group, group.getCount());
+            }
+            applied.incrementAndGet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void add(Map<CellKey, Cell> cells, LocalDate today, TodoStatsGroupDTO group, long count) {
+        Cell cell = cells.computeIfAbsent(new CellKey(group.getCategoryId(), group.getPriority()), key -> new Cell());
+        if (group.isDone()) {
+            cell.done.add(count);
+            return;
+        }
+        cell.open.add(count);
+        LocalDate dueDate = group.getDueDate();
+        if (dueDate == null) {
+            return;
+        }
+        if (dueDate.isBefore(today)) {
+            cell.overdue.add(count);
+        } else {
+            cell.openByDueDate.computeIfAbsent(dueDate, date -> new LongAdder()).add(count);
+        }
+    }
+
+    // Moves the todos due on days that have passed since the last call into the overdue counts
+    private LocalDate rollOver() {
+        LocalDate now = LocalDate.now(clock);
+        if (now.equals(today)) {
+            return now;
+        }
+        lock.writeLock().lock();
+        try {
+            if (now.isAfter(today)) {
+                for (Cell cell : cells.values()) {
+                    NavigableMap<LocalDate, LongAdder> past = cell.openByDueDate.headMap(now, false);
+                    past.values().forEach(count -> cell.overdue.add(count.sum()));
+                    past.clear();
+                }
+                today = now;
+            }
+            return today;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<CellKey, CellCounts> snapshot(Map<CellKey, Cell> cells) {
+        Map<CellKey, CellCounts> snapshot = new HashMap<>();
+        cells.forEach((key, cell) -> {
+            CellCounts counts = cell.counts();
+            if (counts.open() != 0 || counts.done() != 0 || !counts.openByDueDate().isEmpty()) {
+                snapshot.put(key, counts);
+            }
+        });
+        return snapshot;
+    }
+}
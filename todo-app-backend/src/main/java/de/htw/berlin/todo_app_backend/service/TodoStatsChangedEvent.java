@@ -0,0 +1,43 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The groups a write took todos out of and put them into, applied to TodoStats once the transaction has committed
+public record TodoStatsChangedEvent(List<TodoStatsGroupDTO> removed, List<TodoStatsGroupDTO> added) {
+
+    public static TodoStatsChangedEvent created(List<ToDoEntry> entries) {
+        return new TodoStatsChangedEvent(List.of(), entries.stream().map(TodoStatsChangedEvent::groupOf).toList());
+    }
+
+    // Groups counted after their todos were inserted by a bulk write that had no entities at hand
+    public static TodoStatsChangedEvent inserted(List<TodoStatsGroupDTO> groups) {
+        return new TodoStatsChangedEvent(List.of(), List.copyOf(groups));
+    }
+
+    public static TodoStatsChangedEvent deleted(List<TodoStatsGroupDTO> groups) {
+        return new TodoStatsChangedEvent(List.copyOf(groups), List.of());
+    }
+
+    public static TodoStatsChangedEvent changed(List<TodoStatsGroupDTO> before, List<TodoStatsGroupDTO> after) {
+        return new TodoStatsChangedEvent(List.copyOf(before), List.copyOf(after));
+    }
+
+    // Groups counted after their todos were unlinked from the category, so the todos were in that category before
+    public static TodoStatsChangedEvent unlinked(Long categoryId, List<TodoStatsGroupDTO> groups) {
+        List<TodoStatsGroupDTO> before = new ArrayList<>(groups.size());
+        for (TodoStatsGroupDTO group : groups) {
+            before.add(new TodoStatsGroupDTO(categoryId, group.getPriority(), group.isDone(), group.getDueDate(),
+                    group.getCount()));
+        }
+        return new TodoStatsChangedEvent(before, List.copyOf(groups));
+    }
+
+    public static TodoStatsGroupDTO groupOf(ToDoEntry entry) {
+        Long categoryId = entry.getCategory() != null ? entry.getCategory().getId() : null;
+        return new TodoStatsGroupDTO(categoryId, entry.getPriority(), entry.isDone(), entry.getDueDate(), 1);
+    }
+}
@@ -0,0 +1,57 @@
+package de.htw.berlin.todo_app_backend.util;
+
+import de.htw.berlin.todo_app_backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class CursorCodec {
+
+    // Position in a list ordered by score desc, id desc; the score is kept as the float the database compares
+    public record RankedCursor(float score, long id) {
+    }
+
+    private CursorCodec() {
+    }
+
+    public static String encode(long id) {
+        return encodeRaw(Long.toString(id));
+    }
+
+    public static long decode(String cursor) {
+        try {
+            return Long.parseLong(decodeRaw(cursor));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public static String encode(RankedCursor cursor) {
+        return encodeRaw(Float.toString(cursor.score()) + ":" + cursor.id());
+    }
+
+    public static RankedCursor decodeRanked(String cursor) {
+        try {
+            String raw = decodeRaw(cursor);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            float score = Float.parseFloat(raw.substring(0, separator));
+            if (!Float.isFinite(score)) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new RankedCursor(score, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeRaw(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,57 @@
+package de.htw.berlin.todo_app_backend.util;
+
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String forTodo(ToDoEntry entry) {
+        Category category = entry.getCategory();
+        String tag = category != null
+                ? entry.getVersion() + "-" + category.getId() + "." + category.getVersion()
+                : String.valueOf(entry.getVersion());
+        return "\"" + tag + "\"";
+    }
+
+    public static String forCategory(Category category) {
+        return "\"" + category.getVersion() + "\"";
+    }
+
+    public static String stampOf(List<CategoryDTO> categories) {
+        long hash = 1;
+        for (CategoryDTO category : categories) {
+            hash = 31 * hash + category.getId();
+            hash = 31 * hash + (category.getVersion() != null ? category.getVersion() : 0);
+        }
+        return categories.size() + "-" + Long.toHexString(hash);
+    }
+
+    public static String weak(String stamp) {
+        return "W/\"" + stamp + "\"";
+    }
+
+    // Returns the entity version an If-Match header was issued for, or null when any version is accepted.
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/") || tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new OptimisticLockingFailureException("If-Match must be a single strong ETag");
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int separator = value.indexOf('-');
+        try {
+            return Long.parseLong(separator >= 0 ? value.substring(0, separator) : value);
+        } catch (NumberFormatException ex) {
+            throw new OptimisticLockingFailureException("If-Match does not match the current version");
+        }
+    }
+}
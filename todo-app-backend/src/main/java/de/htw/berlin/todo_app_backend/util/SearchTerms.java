@@ -0,0 +1,33 @@
+package de.htw.berlin.todo_app_backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class SearchTerms {
+
+    // Letters and digits only, so the words can be put into a tsquery without escaping
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private SearchTerms() {
+    }
+
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        Matcher matcher = WORD.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            words.add(matcher.group());
+        }
+        return words;
+    }
+
+    // Every word as a prefix, all of them required: "buy milk" becomes "buy:* & milk:*"
+    public static String toPrefixTsQuery(List<String> words) {
+        return String.join(" & ", words.stream().map(word -> word + ":*").toList());
+    }
+}
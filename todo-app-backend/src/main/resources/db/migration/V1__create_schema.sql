@@ -0,0 +1,34 @@
+-- The schema ddl-auto=update used to create, so existing databases are baselined at this version
+create sequence todo_entry_seq start with 1 increment by 50;
+-- Shared by to_do_entry and category; the increment matches ChangeSequence.ALLOCATION_SIZE
+create sequence change_seq start with 1 increment by 50;
+
+create table category (
+    id bigint generated by default as identity primary key,
+    name varchar(25) not null,
+    color_hex varchar(255) not null,
+    version bigint,
+    change_seq bigint default 0 not null,
+    deleted boolean default false not null
+);
+
+create table to_do_entry (
+    id bigint primary key,
+    title varchar(25) not null,
+    description varchar(200),
+    done boolean not null,
+    due_date date,
+    priority varchar(255) check (priority in ('LOW', 'MEDIUM', 'HIGH')),
+    category_id bigint references category (id),
+    created_at timestamp with time zone not null,
+    version bigint,
+    change_seq bigint default 0 not null,
+    deleted boolean default false not null
+);
+
+-- Leads with the foreign key, so category filters and clearCategoryFromTodos do not scan the table
+create index idx_todo_entry_category_id on to_do_entry (category_id, id);
+create index idx_todo_entry_done_due_date on to_do_entry (done, due_date);
+create index idx_todo_entry_priority on to_do_entry (priority, id);
+create index idx_todo_entry_change_seq on to_do_entry (change_seq);
+create index idx_category_change_seq on category (change_seq);
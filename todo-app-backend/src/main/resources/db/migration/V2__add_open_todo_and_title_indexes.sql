@@ -0,0 +1,11 @@
+-- Open todos are what the list shows by default. Partial indexes keep that working set small
+-- however many todos are done or deleted; the queries render done = false as a literal to match them.
+create index idx_todo_entry_open_id on to_do_entry (id) where done = false and deleted = false;
+create index idx_todo_entry_open_due_date on to_do_entry (due_date, id) where done = false and deleted = false;
+
+-- Open todos are covered above, so due date ranges over done or all todos only need the date
+drop index idx_todo_entry_done_due_date;
+create index idx_todo_entry_due_date on to_do_entry (due_date, id);
+
+-- The title filter is a case-insensitive prefix match: lower(title) like 'abc%'
+create index idx_todo_entry_title_prefix on to_do_entry (lower(title) text_pattern_ops) where deleted = false;
@@ -0,0 +1,12 @@
+create table category_delete_job (
+    id bigint generated by default as identity primary key,
+    category_id bigint not null references category (id),
+    status varchar(255) not null check (status in ('PENDING', 'RUNNING', 'COMPLETED')),
+    total_todos bigint not null,
+    unlinked_todos bigint not null,
+    created_at timestamp with time zone not null,
+    finished_at timestamp with time zone
+);
+
+-- The worker polls for unfinished jobs, which are few however many have completed
+create index idx_category_delete_job_unfinished on category_delete_job (id) where status <> 'COMPLETED';
@@ -0,0 +1,12 @@
+-- Full-text search for GET /todos/search. The 'simple' configuration neither stems nor drops stop words: titles are
+-- short and mix German and English, so prefix queries (word:*) match better than one language's stemmer would.
+-- Title words are weighted above description words for ts_rank.
+alter table to_do_entry add column search_vector tsvector generated always as (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) stored;
+create index idx_todo_entry_search_vector on to_do_entry using gin (search_vector) where deleted = false;
+
+-- Typo-tolerant matching of the whole query against the title: title %> 'query'
+create extension if not exists pg_trgm;
+create index idx_todo_entry_title_trgm on to_do_entry using gin (title gin_trgm_ops) where deleted = false;
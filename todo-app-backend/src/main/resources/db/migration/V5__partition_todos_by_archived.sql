@@ -0,0 +1,86 @@
+-- Hot/cold split: todos completed longer than todo.archive.after ago are moved to the archive partition by
+-- ToDoEntryArchiver, so the active partition and its indexes only grow with the todos still in use. Queries with
+-- archived = false only touch the active partition; all others read both. Setting archived moves the row.
+-- A primary key has to include the partition key, so id is unique by todo_entry_seq alone from here on.
+alter table to_do_entry rename to to_do_entry_unpartitioned;
+alter table to_do_entry_unpartitioned rename constraint to_do_entry_pkey to to_do_entry_unpartitioned_pkey;
+
+create table to_do_entry (
+    id bigint not null,
+    title varchar(25) not null,
+    description varchar(200),
+    done boolean not null,
+    due_date date,
+    priority varchar(255) check (priority in ('LOW', 'MEDIUM', 'HIGH')),
+    category_id bigint references category (id),
+    created_at timestamp with time zone not null,
+    version bigint,
+    change_seq bigint default 0 not null,
+    deleted boolean default false not null,
+    search_vector tsvector generated always as (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+            || setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) stored,
+    -- When the todo was last marked done; existing done todos count from their creation
+    completed_at timestamp with time zone,
+    archived boolean default false not null,
+    primary key (id, archived)
+) partition by list (archived);
+create table to_do_entry_active partition of to_do_entry for values in (false);
+create table to_do_entry_archive partition of to_do_entry for values in (true);
+
+insert into to_do_entry (id, title, description, done, due_date, priority, category_id, created_at, version,
+                         change_seq, deleted, completed_at)
+select id, title, description, done, due_date, priority, category_id, created_at, version, change_seq, deleted,
+       case when done then created_at end
+from to_do_entry_unpartitioned;
+drop table to_do_entry_unpartitioned;
+
+-- The indexes of V1, V2 and V4. Each partition gets its own named index first, which the index on the partitioned
+-- table then attaches, so query plans show which partition they read.
+create index idx_todo_entry_category_id_active on to_do_entry_active (category_id, id);
+create index idx_todo_entry_category_id_archive on to_do_entry_archive (category_id, id);
+create index idx_todo_entry_category_id on to_do_entry (category_id, id);
+
+create index idx_todo_entry_priority_active on to_do_entry_active (priority, id);
+create index idx_todo_entry_priority_archive on to_do_entry_archive (priority, id);
+create index idx_todo_entry_priority on to_do_entry (priority, id);
+
+create index idx_todo_entry_change_seq_active on to_do_entry_active (change_seq);
+create index idx_todo_entry_change_seq_archive on to_do_entry_archive (change_seq);
+create index idx_todo_entry_change_seq on to_do_entry (change_seq);
+
+create index idx_todo_entry_open_id_active on to_do_entry_active (id) where done = false and deleted = false;
+create index idx_todo_entry_open_id_archive on to_do_entry_archive (id) where done = false and deleted = false;
+create index idx_todo_entry_open_id on to_do_entry (id) where done = false and deleted = false;
+
+create index idx_todo_entry_open_due_date_active on to_do_entry_active (due_date, id)
+    where done = false and deleted = false;
+create index idx_todo_entry_open_due_date_archive on to_do_entry_archive (due_date, id)
+    where done = false and deleted = false;
+create index idx_todo_entry_open_due_date on to_do_entry (due_date, id) where done = false and deleted = false;
+
+create index idx_todo_entry_due_date_active on to_do_entry_active (due_date, id);
+create index idx_todo_entry_due_date_archive on to_do_entry_archive (due_date, id);
+create index idx_todo_entry_due_date on to_do_entry (due_date, id);
+
+create index idx_todo_entry_title_prefix_active on to_do_entry_active (lower(title) text_pattern_ops)
+    where deleted = false;
+create index idx_todo_entry_title_prefix_archive on to_do_entry_archive (lower(title) text_pattern_ops)
+    where deleted = false;
+create index idx_todo_entry_title_prefix on to_do_entry (lower(title) text_pattern_ops) where deleted = false;
+
+create index idx_todo_entry_search_vector_active on to_do_entry_active using gin (search_vector)
+    where deleted = false;
+create index idx_todo_entry_search_vector_archive on to_do_entry_archive using gin (search_vector)
+    where deleted = false;
+create index idx_todo_entry_search_vector on to_do_entry using gin (search_vector) where deleted = false;
+
+create index idx_todo_entry_title_trgm_active on to_do_entry_active using gin (title gin_trgm_ops)
+    where deleted = false;
+create index idx_todo_entry_title_trgm_archive on to_do_entry_archive using gin (title gin_trgm_ops)
+    where deleted = false;
+create index idx_todo_entry_title_trgm on to_do_entry using gin (title gin_trgm_ops) where deleted = false;
+
+-- The archiver's scan for done todos that are due to move; the archive partition needs no such index
+create index idx_todo_entry_archivable on to_do_entry_active (completed_at) where done = true and deleted = false;
@@ -0,0 +1,17 @@
+-- Rows of running imports, loaded with COPY and merged into to_do_entry chunk by chunk. Unlogged, as they are
+-- written once and only needed until their import ends, so they are not worth the WAL; a crash only empties it.
+create unlogged table todo_import_staging (
+    import_id uuid not null,
+    -- Position among the import's valid rows, from 0; the merge takes them in ranges
+    row_no bigint not null,
+    -- Taken from todo_entry_seq while staging
+    id bigint not null,
+    title varchar(25) not null,
+    description varchar(200),
+    done boolean not null,
+    due_date date,
+    priority varchar(255),
+    category_id bigint,
+    created_at timestamp with time zone not null,
+    primary key (import_id, row_no)
+);
@@ -0,0 +1,34 @@
+-- The delta sync's high-water mark is the oldest transaction still running when a sync starts (see SyncMark), so
+-- rows remember the transaction that last changed them. The trigger stamps it, so it holds for every writer of the
+-- database, whichever backend instance or variant it is and wherever it took its change_seq values from.
+alter table to_do_entry add column change_xid bigint default 0 not null;
+alter table category add column change_xid bigint default 0 not null;
+
+-- Rows written before count as changed by this migration, so a client syncing across the upgrade gets them again
+update to_do_entry set change_xid = pg_current_xact_id()::text::bigint;
+update category set change_xid = pg_current_xact_id()::text::bigint;
+
+-- Inserts are stamped unless they carry a value already, which is the case when an update moves a row to another
+-- partition. Updates are stamped when they stamp change_seq, so archiving is not reported as a change.
+create function stamp_change_xid() returns trigger language plpgsql as $$
+begin
+    if tg_op = 'INSERT' then
+        if new.change_xid = 0 then
+            new.change_xid := pg_current_xact_id()::text::bigint;
+        end if;
+    elsif new.change_seq is distinct from old.change_seq then
+        new.change_xid := pg_current_xact_id()::text::bigint;
+    end if;
+    return new;
+end
+$$;
+
+create trigger to_do_entry_change_xid before insert or update on to_do_entry
+    for each row execute function stamp_change_xid();
+create trigger category_change_xid before insert or update on category
+    for each row execute function stamp_change_xid();
+
+create index idx_todo_entry_change_xid_active on to_do_entry_active (change_xid);
+create index idx_todo_entry_change_xid_archive on to_do_entry_archive (change_xid);
+create index idx_todo_entry_change_xid on to_do_entry (change_xid);
+create index idx_category_change_xid on category (change_xid);
@@ -0,0 +1,7 @@
+-- Counts the archiver's batches, bumped in each batch's transaction. Archiving changes no change_xid, so the ETag of
+-- the list without archived todos reads this to change when todos leave it (see ToDoEntryRepositoryImpl).
+create table todo_archive_generation (
+    id smallint default 1 primary key check (id = 1),
+    generation bigint not null
+);
+insert into todo_archive_generation (id, generation) values (1, 0);
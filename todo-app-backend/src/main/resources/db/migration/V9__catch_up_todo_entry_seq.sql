@@ -0,0 +1,7 @@
+-- Databases baselined at V1 may have taken their todo ids from an identity column, so todo_entry_seq could be missing
+-- or still start below ids in use. Moves it a whole allocation past the highest id, but never back, so running it
+-- again changes nothing and no manual step is left for such databases.
+create sequence if not exists todo_entry_seq start with 1 increment by 50;
+
+select setval('todo_entry_seq', greatest((select coalesce(max(id), 0) from to_do_entry) + 50,
+                                         (select last_value from todo_entry_seq)));
@@ -0,0 +1,39 @@
+package de.htw.berlin.todo_app_backend.config;
+
+import de.htw.berlin.todo_app_backend.dto.TodoChangeDTO;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeHintsConfigTest {
+
+    @Test
+    void jdbcProxyHints_coverDatasourceProxyAndBulkheadConnections() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.JdbcProxyHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, Connection.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, PreparedStatement.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, ResultSet.class)).accepts(hints);
+        // Replayed by SlowQueryRecorder when it explains a statement with its original parameters
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(PreparedStatement.class, "setLong")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ConnectionProxy.class)).accepts(hints);
+    }
+
+    @Test
+    void changeFeedDto_isRegisteredForBinding() {
+        RuntimeHints hints = new RuntimeHints();
+        new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints, NativeHintsConfig.class);
+
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(TodoChangeDTO.class, "getTodo")).accepts(hints);
+    }
+}
@@ -0,0 +1,123 @@
+package de.htw.berlin.todo_app_backend.contract;
+
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// HTTP-level checks of the /categories contract, run against both the servlet and the reactive backend
+public abstract class CategoryApiContractTest {
+
+    protected abstract WebTestClient client();
+
+    protected abstract void deleteAllData();
+
+    @BeforeEach
+    void resetData() {
+        deleteAllData();
+    }
+
+    @Test
+    void createCategory_persistsAndReturns() {
+        client().post().uri("/categories")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CategoryDTO(null, "Home", "#FFFFFF", null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.name").isEqualTo("Home")
+                .jsonPath("$.colorHex").isEqualTo("#FFFFFF");
+
+        assertThat(findAll()).extracting(CategoryDTO::getName).containsExactly("Home");
+    }
+
+    @Test
+    void createCategory_rejectsMissingColor() {
+        client().post().uri("/categories")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CategoryDTO(null, "Home", null, null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.colorHex").exists();
+    }
+
+    @Test
+    void updateCategory_overwritesEntity() {
+        CategoryDTO saved = create("Work", "#000000");
+
+        client().put().uri("/categories/{id}", saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CategoryDTO(null, "Office", "#123456", null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(saved.getId().intValue())
+                .jsonPath("$.name").isEqualTo("Office");
+
+        assertThat(findAll()).extracting(CategoryDTO::getColorHex).containsExactly("#123456");
+    }
+
+    @Test
+    void getAllCategories_returnsDescOrder() {
+        CategoryDTO first = create("First", "#000001");
+        CategoryDTO second = create("Second", "#000002");
+
+        assertThat(findAll()).extracting(CategoryDTO::getId).containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    void deleteCategory_clearsTodoCategory() {
+        CategoryDTO category = create("Work", "#000000");
+        ToDoEntryDTO entry = new ToDoEntryDTO();
+        entry.setTitle("Linked");
+        entry.setCategory(category);
+        ToDoEntryDTO saved = client().post().uri("/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(entry)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ToDoEntryDTO.class)
+                .returnResult()
+                .getResponseBody();
+
+        client().delete().uri("/categories/{id}", category.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(findAll()).isEmpty();
+        client().get().uri("/todos/{id}", saved.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Linked")
+                .jsonPath("$.category").doesNotExist();
+    }
+
+    protected CategoryDTO create(String name, String colorHex) {
+        return client().post().uri("/categories")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CategoryDTO(null, name, colorHex, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CategoryDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    protected List<CategoryDTO> findAll() {
+        return client().get().uri("/categories")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CategoryDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
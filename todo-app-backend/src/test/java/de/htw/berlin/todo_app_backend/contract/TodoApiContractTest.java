@@ -0,0 +1,346 @@
+package de.htw.berlin.todo_app_backend.contract;
+
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryPageDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+
+// HTTP-level checks of the /todos contract, run against both the servlet and the reactive backend
+public abstract class TodoApiContractTest {
+
+    protected abstract WebTestClient client();
+
+    protected abstract void deleteAllData();
+
+    @BeforeEach
+    void resetData() {
+        deleteAllData();
+    }
+
+    @Test
+    void createTodo_persistsAndReturns() {
+        CategoryDTO category = createCategory("Work");
+        ToDoEntryDTO entry = new ToDoEntryDTO();
+        entry.setTitle("Write report");
+        entry.setDescription("Quarterly");
+        entry.setDueDate(LocalDate.of(2025, 1, 31));
+        entry.setPriority(Priority.HIGH);
+        entry.setCategory(category);
+
+        client().post().uri("/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(entry)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.title").isEqualTo("Write report")
+                .jsonPath("$.dueDate").isEqualTo("2025-01-31")
+                .jsonPath("$.priority").isEqualTo("HIGH")
+                .jsonPath("$.category.id").isEqualTo(category.getId().intValue())
+                .jsonPath("$.createdAt").value(matchesPattern("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}.*$"));
+
+        ToDoEntryDTO created = getTodo(findAll().get(0).getId());
+        assertThat(created.getCategory().getName()).isEqualTo("Work");
+        assertThat(created.isDone()).isFalse();
+    }
+
+    @Test
+    void createTodo_rejectsMissingTitle() {
+        client().post().uri("/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ToDoEntryDTO())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.title").exists();
+    }
+
+    @Test
+    void getAllTodos_returnsDescOrder() {
+        ToDoEntryDTO first = createTodo("First");
+        ToDoEntryDTO second = createTodo("Second");
+
+        assertThat(findAll()).extracting(ToDoEntryDTO::getId).containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    void getTodoPage_walksPagesWithCursor() {
+        ToDoEntryDTO first = createTodo("First");
+        ToDoEntryDTO second = createTodo("Second");
+        ToDoEntryDTO third = createTodo("Third");
+
+        ToDoEntryPageDTO page = getPage("/todos?limit=2");
+        assertThat(page.getItems()).extracting(ToDoEntryDTO::getId).containsExactly(third.getId(), second.getId());
+        assertThat(page.getNextCursor()).isNotNull();
+
+        ToDoEntryPageDTO last = getPage("/todos?limit=2&after=" + page.getNextCursor());
+        assertThat(last.getItems()).extracting(ToDoEntryDTO::getId).containsExactly(first.getId());
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getTodoPage_rejectsInvalidCursor() {
+        client().get().uri("/todos?limit=2&after=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isNotEmpty();
+    }
+
+    @Test
+    void updateTodo_overwritesEntity() {
+        ToDoEntryDTO saved = createTodo("Old");
+        ToDoEntryDTO updated = new ToDoEntryDTO();
+        updated.setTitle("New");
+        updated.setDescription("Updated");
+        updated.setDone(true);
+        updated.setPriority(Priority.MEDIUM);
+
+        client().put().uri("/todos/{id}", saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updated)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(saved.getId().intValue())
+                .jsonPath("$.title").isEqualTo("New")
+                .jsonPath("$.done").isEqualTo(true)
+                .jsonPath("$.priority").isEqualTo("MEDIUM");
+
+        ToDoEntryDTO refreshed = getTodo(saved.getId());
+        assertThat(refreshed.getDescription()).isEqualTo("Updated");
+        assertThat(refreshed.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void updateTodo_rejectsStaleVersion() {
+        ToDoEntryDTO saved = createTodo("Original");
+        ToDoEntryDTO updated = new ToDoEntryDTO();
+        updated.setTitle("Stale");
+        updated.setVersion(saved.getVersion() + 1);
+
+        client().put().uri("/todos/{id}", saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updated)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        assertThat(getTodo(saved.getId()).getTitle()).isEqualTo("Original");
+    }
+
+    @Test
+    void patchTodo_updatesOnlySentFields() {
+        ToDoEntryDTO entry = new ToDoEntryDTO();
+        entry.setTitle("Keep title");
+        entry.setDescription("Keep description");
+        entry.setPriority(Priority.HIGH);
+        ToDoEntryDTO saved = getTodo(create(entry).getId());
+
+        client().patch().uri("/todos/{id}", saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"done\": true}")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        ToDoEntryDTO refreshed = getTodo(saved.getId());
+        assertThat(refreshed.isDone()).isTrue();
+        assertThat(refreshed.getTitle()).isEqualTo("Keep title");
+        assertThat(refreshed.getDescription()).isEqualTo("Keep description");
+        assertThat(refreshed.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(refreshed.getCreatedAt()).isEqualTo(saved.getCreatedAt());
+    }
+
+    @Test
+    void patchTodo_rejectsInvalidFields() {
+        ToDoEntryDTO saved = createTodo("Title");
+
+        client().patch().uri("/todos/{id}", saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\": \"This title is far too long for a todo\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Maximum of 25 characters allowed");
+    }
+
+    @Test
+    void deleteTodo_removesEntity() {
+        ToDoEntryDTO saved = createTodo("Delete me");
+
+        client().delete().uri("/todos/{id}", saved.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(findAll()).isEmpty();
+    }
+
+    @Test
+    void createTodos_persistsAllEntries() {
+        ToDoEntryDTO first = new ToDoEntryDTO();
+        first.setTitle("First");
+        ToDoEntryDTO second = new ToDoEntryDTO();
+        second.setTitle("Second");
+        second.setPriority(Priority.LOW);
+
+        client().post().uri("/todos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(first, second))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isNumber()
+                .jsonPath("$[0].title").isEqualTo("First")
+                .jsonPath("$[1].priority").isEqualTo("LOW");
+
+        assertThat(findAll()).hasSize(2);
+    }
+
+    @Test
+    void createTodos_reportsErrorsPerItem() {
+        ToDoEntryDTO valid = new ToDoEntryDTO();
+        valid.setTitle("Valid");
+        ToDoEntryDTO invalid = new ToDoEntryDTO();
+        invalid.setTitle("This title is far too long for a todo");
+
+        client().post().uri("/todos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(valid, invalid))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$['[1].title']").isEqualTo("Maximum of 25 characters allowed")
+                .jsonPath("$['[0].title']").doesNotExist();
+
+        assertThat(findAll()).isEmpty();
+    }
+
+    @Test
+    void updateTodos_overwritesAllEntries() {
+        ToDoEntryDTO first = createTodo("First");
+        ToDoEntryDTO second = createTodo("Second");
+        first.setTitle("First done");
+        first.setDone(true);
+        second.setTitle("Second done");
+        second.setDone(true);
+
+        client().put().uri("/todos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(first, second))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].title").isEqualTo("First done")
+                .jsonPath("$[1].done").isEqualTo(true);
+
+        assertThat(getTodo(second.getId()).getTitle()).isEqualTo("Second done");
+    }
+
+    @Test
+    void deleteTodos_removesAllEntries() {
+        ToDoEntryDTO first = createTodo("First");
+        ToDoEntryDTO second = createTodo("Second");
+        createTodo("Kept");
+
+        client().method(HttpMethod.DELETE).uri("/todos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(first.getId(), second.getId()))
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(findAll()).extracting(ToDoEntryDTO::getTitle).containsExactly("Kept");
+    }
+
+    @Test
+    void exportTodos_streamsJsonArrayAndNdjson() {
+        ToDoEntryDTO first = createTodo("First");
+        createTodo("Second");
+
+        client().get().uri("/todos/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(first.getId().intValue())
+                .jsonPath("$[1].title").isEqualTo("Second");
+
+        String ndjson = client().get().uri("/todos/export?format=ndjson")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(ndjson.strip().split("\n")).hasSize(2);
+    }
+
+    protected ToDoEntryDTO createTodo(String title) {
+        ToDoEntryDTO entry = new ToDoEntryDTO();
+        entry.setTitle(title);
+        return create(entry);
+    }
+
+    protected ToDoEntryDTO create(ToDoEntryDTO entry) {
+        return client().post().uri("/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(entry)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ToDoEntryDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    protected CategoryDTO createCategory(String name) {
+        return client().post().uri("/categories")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CategoryDTO(null, name, "#000000", null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CategoryDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    protected ToDoEntryDTO getTodo(Long id) {
+        return client().get().uri("/todos/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ToDoEntryDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    protected List<ToDoEntryDTO> findAll() {
+        return client().get().uri("/todos")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ToDoEntryDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private ToDoEntryPageDTO getPage(String uri) {
+        return client().get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ToDoEntryPageDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
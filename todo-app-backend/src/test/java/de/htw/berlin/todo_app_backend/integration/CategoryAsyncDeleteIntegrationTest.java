@@ -0,0 +1,243 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.CategoryDeleteJobDTO;
+import de.htw.berlin.todo_app_backend.enums.CategoryDeleteJobStatus;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import de.htw.berlin.todo_app_backend.service.CategoryDeleteWorker;
+import de.htw.berlin.todo_app_backend.service.CategoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The worker is driven by the tests, the scheduled poll only runs once at startup
+@SpringBootTest(properties = {
+        "todo.category-delete.poll-interval=1h",
+        "todo.category-delete.chunk-size=10"
+})
+@AutoConfigureMockMvc
+class CategoryAsyncDeleteIntegrationTest extends EmbeddedPostgresSupport {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToDoEntryRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryDeleteWorker worker;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        category = new Category();
+        category.setName("Huge");
+        category.setColorHex("#000000");
+        category = categoryRepository.save(category);
+        List<ToDoEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ToDoEntry entry = new ToDoEntry();
+            entry.setTitle("Task " + i);
+            entry.setCategory(category);
+            entries.add(entry);
+        }
+        todoRepository.saveAll(entries);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from category_delete_job");
+        jdbcTemplate.update("delete from to_do_entry");
+        jdbcTemplate.update("delete from category");
+    }
+
+    @Test
+    void deleteAsync_acceptsAndUnlinksTodosInCommittedChunks() throws Exception {
+        CategoryDeleteJobDTO job = deleteAsync();
+
+        assertThat(job.getStatus()).isEqualTo(CategoryDeleteJobStatus.PENDING);
+        assertThat(job.getTotalTodos()).isEqualTo(25);
+        assertThat(categoryRepository.findById(category.getId())).isEmpty();
+        assertThat(linkedTodos()).isEqualTo(25);
+        // Todos still pointing at the deleted category stay readable until the worker reaches them
+        mockMvc.perform(get("/todos")).andExpect(status().isOk());
+
+        worker.processPendingJobs();
+
+        mockMvc.perform(get("/categories/delete-jobs/{jobId}", job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.unlinkedTodos").value(25))
+                .andExpect(jsonPath("$.finishedAt").exists());
+        assertThat(linkedTodos()).isZero();
+        // Chunks of 10: each committed chunk stamped its own change sequence
+        assertThat(jdbcTemplate.queryForObject("select count(distinct change_seq) from to_do_entry", Long.class))
+                .isEqualTo(3);
+    }
+
+    @Test
+    void deleteAsync_skipsLockedTodosUntilTheyAreReleased() throws Exception {
+        Long lockedId = jdbcTemplate.queryForObject("select min(id) from to_do_entry where category_id = ?", Long.class,
+                category.getId());
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("select id from to_do_entry where id = ? for update", Long.class, lockedId);
+            locked.countDown();
+            awaitLatch(release);
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CategoryDeleteJobDTO job = deleteAsync();
+        CompletableFuture<Void> work = CompletableFuture.runAsync(worker::processPendingJobs);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> job(job.getId()).getUnlinkedTodos() == 24);
+        assertThat(job(job.getId()).getStatus()).isEqualTo(CategoryDeleteJobStatus.RUNNING);
+        assertThat(work).isNotDone();
+
+        release.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+        work.get(5, TimeUnit.SECONDS);
+        assertThat(job(job.getId()).getStatus()).isEqualTo(CategoryDeleteJobStatus.COMPLETED);
+        assertThat(linkedTodos()).isZero();
+    }
+
+    @Test
+    void linkingToACategoryBeingDeleted_isRefused() throws Exception {
+        Long todoId = unfiledTodo();
+        deleteAsync();
+
+        mockMvc.perform(patch("/todos/{id}", todoId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categoryId\": " + category.getId() + "}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Category not found"));
+        mockMvc.perform(put("/todos/{id}", todoId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Unfiled\", \"category\": {\"id\": " + category.getId() + "}}"))
+                .andExpect(status().isNotFound());
+
+        assertThat(jdbcTemplate.queryForObject("select category_id from to_do_entry where id = ?", Long.class, todoId))
+                .isNull();
+    }
+
+    @Test
+    void deleteAsync_waitsForALinkInProgress_andUnlinksItsTodo() throws Exception {
+        Long todoId = unfiledTodo();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> linking = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            categoryService.lockForLinking(category.getId());
+            jdbcTemplate.update("update to_do_entry set category_id = ? where id = ?", category.getId(), todoId);
+            locked.countDown();
+            awaitLatch(release);
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<CategoryDeleteJobDTO> deleting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return deleteAsync();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        Thread.sleep(200);
+        assertThat(deleting).isNotDone();
+
+        release.countDown();
+        linking.get(5, TimeUnit.SECONDS);
+        assertThat(deleting.get(5, TimeUnit.SECONDS).getTotalTodos()).isEqualTo(26);
+        worker.processPendingJobs();
+        assertThat(linkedTodos()).isZero();
+    }
+
+    @Test
+    void deleteAsync_rejectsStaleVersion() throws Exception {
+        mockMvc.perform(delete("/categories/{id}", category.getId())
+                        .param("async", "true")
+                        .header(HttpHeaders.IF_MATCH, "\"" + (category.getVersion() + 1) + "\""))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(categoryRepository.findById(category.getId())).isPresent();
+    }
+
+    private CategoryDeleteJobDTO deleteAsync() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(delete("/categories/{id}", category.getId()).param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse();
+        CategoryDeleteJobDTO job = objectMapper.readValue(response.getContentAsString(), CategoryDeleteJobDTO.class);
+        assertThat(response.getHeader(HttpHeaders.LOCATION)).endsWith("/categories/delete-jobs/" + job.getId());
+        return job;
+    }
+
+    private Long unfiledTodo() {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Unfiled");
+        return todoRepository.save(entry).getId();
+    }
+
+    private CategoryDeleteJobDTO job(Long jobId) throws Exception {
+        String body = mockMvc.perform(get("/categories/delete-jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, CategoryDeleteJobDTO.class);
+    }
+
+    private long linkedTodos() {
+        return jdbcTemplate.queryForObject("select count(*) from to_do_entry where category_id = ?", Long.class,
+                category.getId());
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
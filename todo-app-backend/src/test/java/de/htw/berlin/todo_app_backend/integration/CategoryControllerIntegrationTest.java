@@ -1,6 +1,7 @@
 package de.htw.berlin.todo_app_backend.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.htw.berlin.todo_app_backend.config.CacheConfig;
 import de.htw.berlin.todo_app_backend.domain.Category;
 import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
 import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
@@ -10,6 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -39,10 +43,14 @@ class CategoryControllerIntegrationTest {
     @Autowired
     private ToDoEntryRepository todoRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     void setUp() {
         todoRepository.deleteAll();
         repository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
     @Test
@@ -139,4 +147,94 @@ class CategoryControllerIntegrationTest {
         ToDoEntry refreshed = todoRepository.findById(savedEntry.getId()).orElseThrow();
         assertThat(refreshed.getCategory()).isNull();
     }
+
+    @Test
+    void updateCategory_rejectsStaleIfMatch() throws Exception {
+        Category category = new Category();
+        category.setName("Work");
+        category.setColorHex("#000000");
+        Category saved = repository.save(category);
+
+        Category updated = new Category();
+        updated.setName("Home");
+        updated.setColorHex("#FFFFFF");
+
+        mockMvc.perform(put("/categories/{id}", saved.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + (saved.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(repository.findById(saved.getId()).orElseThrow().getName()).isEqualTo("Work");
+    }
+
+    @Test
+    void getAllCategories_returnsNotModifiedForMatchingETag() throws Exception {
+        Category category = new Category();
+        category.setName("Work");
+        category.setColorHex("#000000");
+        repository.save(category);
+
+        String etag = mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllCategories_isServedFromCache() throws Exception {
+        Category category = new Category();
+        category.setName("Cached");
+        category.setColorHex("#333333");
+        repository.save(category);
+
+        mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        assertThat(cacheManager.getCache(CacheConfig.CATEGORIES).get(SimpleKey.EMPTY)).isNotNull();
+    }
+
+    @Test
+    void createCategory_evictsCachedList() throws Exception {
+        Category existing = new Category();
+        existing.setName("Existing");
+        existing.setColorHex("#444444");
+        repository.save(existing);
+
+        mockMvc.perform(get("/categories"))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        Category created = new Category();
+        created.setName("Created");
+        created.setColorHex("#555555");
+        mockMvc.perform(post("/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(created)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/categories"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Created"));
+    }
+
+    @Test
+    void deleteCategory_evictsCachedList() throws Exception {
+        Category category = new Category();
+        category.setName("Gone");
+        category.setColorHex("#666666");
+        Category saved = repository.save(category);
+
+        mockMvc.perform(get("/categories"))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(delete("/categories/{id}", saved.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(cacheManager.getCache(CacheConfig.CATEGORIES).get(SimpleKey.EMPTY)).isNull();
+        mockMvc.perform(get("/categories"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
 }
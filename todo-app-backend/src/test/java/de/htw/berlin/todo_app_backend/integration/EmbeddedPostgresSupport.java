@@ -0,0 +1,40 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+// Starts one PostgreSQL server per JVM for tests that depend on real query plans or native SQL.
+// The schema comes from the Flyway migrations, so these tests also check them against the entities.
+abstract class EmbeddedPostgresSupport {
+
+    private static EmbeddedPostgres postgres;
+    private static Throwable startFailure;
+
+    @BeforeAll
+    static void startPostgres() {
+        if (postgres == null && startFailure == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException | RuntimeException ex) {
+                startFailure = ex;
+            }
+        }
+        Assumptions.assumeTrue(postgres != null, () -> "Embedded PostgreSQL unavailable: " + startFailure);
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        // Flyway migrates on a connection of its own, so a test can shrink the pool down to a single connection
+        registry.add("spring.flyway.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.flyway.user", () -> "postgres");
+    }
+}
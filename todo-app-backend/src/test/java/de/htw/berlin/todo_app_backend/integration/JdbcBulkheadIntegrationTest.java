@@ -0,0 +1,128 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import de.htw.berlin.todo_app_backend.config.JdbcBulkheadDataSource;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.exception.JdbcBulkheadFullException;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "todo.jdbc-bulkhead.max-concurrent=1",
+        "todo.jdbc-bulkhead.acquire-timeout=100ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JdbcBulkheadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ToDoEntryRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void bulkheadIsActiveWithVirtualThreads() throws Exception {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Gated");
+        repository.save(entry);
+
+        assertThat(dataSource.isWrapperFor(JdbcBulkheadDataSource.class)).isTrue();
+        mockMvc.perform(get("/todos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Gated"));
+        assertThat(availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void requestIsRejectedWhileTransactionHoldsThePermit() throws Exception {
+        CountDownLatch permitTaken = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            repository.count();
+            permitTaken.countDown();
+            await(finish);
+            repository.count();
+        }));
+
+        try {
+            assertThat(permitTaken.await(5, TimeUnit.SECONDS)).isTrue();
+            mockMvc.perform(get("/todos"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            finish.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(availablePermits()).isEqualTo(1);
+        assertThat(meterRegistry.get("todo.jdbc.bulkhead.rejections").counter().count()).isPositive();
+        mockMvc.perform(get("/todos")).andExpect(status().isOk());
+    }
+
+    @Test
+    void plainJdbcWaitsForAPermitToo() throws Exception {
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThat(availablePermits()).isZero();
+            mockMvc.perform(get("/todos"))
+                    .andExpect(status().isServiceUnavailable());
+            assertThatThrownBy(() -> jdbcTemplate.queryForObject("select 1", Integer.class))
+                    .hasRootCauseInstanceOf(JdbcBulkheadFullException.class);
+        }
+
+        assertThat(availablePermits()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select 1", Integer.class)).isEqualTo(1);
+    }
+
+    private double availablePermits() {
+        return meterRegistry.get("todo.jdbc.bulkhead.available").gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import com.sun.net.httpserver.HttpServer;
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ObservabilityIntegrationTest {
+
+    // Stands in for an OpenTelemetry collector and keeps the raw OTLP export requests
+    private static final HttpServer collector;
+    private static final List<String> exportedTraces = new CopyOnWriteArrayList<>();
+
+    static {
+        try {
+            collector = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        collector.createContext("/v1/traces", exchange -> {
+            exportedTraces.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        collector.start();
+    }
+
+    @DynamicPropertySource
+    static void collectorProperties(DynamicPropertyRegistry registry) {
+        registry.add("management.otlp.tracing.endpoint",
+                () -> "http://localhost:" + collector.getAddress().getPort() + "/v1/traces");
+    }
+
+    @AfterAll
+    static void stopCollector() {
+        collector.stop(0);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private ToDoEntryRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        Category category = new Category();
+        category.setName("Work");
+        category.setColorHex("#123456");
+        category = categoryRepository.save(category);
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Observed");
+        entry.setCategory(category);
+        todoRepository.save(entry);
+        exportedTraces.clear();
+    }
+
+    @Test
+    void requests_areTimedOnEveryLayer() throws Exception {
+        mockMvc.perform(get("/todos")).andExpect(status().isOk());
+        mockMvc.perform(get("/categories")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("http.server.requests").tag("uri", "/todos").timer().count()).isPositive();
+        assertThat(meterRegistry.get("http.server.requests").tag("uri", "/categories").timer().count()).isPositive();
+        assertThat(meterRegistry.get("todo.service").tag("class", "de.htw.berlin.todo_app_backend.service.CategoryService")
+                .tag("method", "getAll").timer().count()).isPositive();
+        assertThat(meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "ToDoEntryRepository").timers()).isNotEmpty();
+        assertThat(meterRegistry.get("todo.mapper").tag("mapper", "CategoryMapperImpl").timer().count()).isPositive();
+    }
+
+    @Test
+    void poolAndHibernateStatistics_areExported() throws Exception {
+        mockMvc.perform(get("/todos")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("hikaricp.connections.max").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("hibernate.statements").functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("hibernate.entities.loads").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void prometheusEndpoint_exposesLatencyHistograms() throws Exception {
+        mockMvc.perform(get("/todos")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(Matchers.containsString("todo_service_seconds_bucket{")));
+    }
+
+    @Test
+    void spans_areExportedToCollector() throws Exception {
+        mockMvc.perform(get("/todos")).andExpect(status().isOk());
+
+        assertThat(tracerProvider.forceFlush().join(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+        String traces = String.join("", exportedTraces);
+        assertThat(traces).contains("http get /todos", "de.htw.berlin.todo_app_backend.service.ToDoEntryService");
+    }
+}
@@ -0,0 +1,203 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import de.htw.berlin.todo_app_backend.config.ReadReplicas;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A second PostgreSQL server stands in for the replica. It is no real standby, so it holds its own rows, which
+// shows where a read went, and reports the lag the tests put into its replica_lag table.
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "todo.jdbc-bulkhead.max-concurrent=2",
+        "todo.replicas.check-interval=100ms",
+        "todo.replicas.max-lag=2s",
+        "todo.replicas.lag-query=select seconds from replica_lag"})
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest extends EmbeddedPostgresSupport {
+
+    private static final String COOKIE_NAME = "todo-read-primary-until";
+
+    private static EmbeddedPostgres replica;
+    private static JdbcTemplate replicaJdbc;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // The routing data source; outside a read-only transaction it writes to the primary
+    @Autowired
+    private JdbcTemplate primaryJdbc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReadReplicas replicas;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeAll
+    static void startReplica() throws IOException {
+        replica = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(replica.getPostgresDatabase()).load().migrate();
+        replicaJdbc = new JdbcTemplate(replica.getPostgresDatabase());
+    }
+
+    @AfterAll
+    static void stopReplica() throws IOException {
+        if (replica != null) {
+            replica.close();
+        }
+    }
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("todo.replicas.urls", () -> replica.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        primaryJdbc.update("delete from to_do_entry");
+        replicaJdbc.update("delete from to_do_entry");
+        primaryJdbc.update(insertTodo(), 100001, "On primary");
+        replicaJdbc.update(insertTodo(), 100001, "On replica");
+        replicaJdbc.execute("drop table if exists replica_lag_off");
+        replicaJdbc.execute("create table if not exists replica_lag (seconds double precision not null)");
+        replicaJdbc.update("delete from replica_lag");
+        replicaJdbc.update("insert into replica_lag values (0)");
+        awaitReplicaAvailable(true);
+    }
+
+    @Test
+    void reads_goToTheReplica_andSyncStaysOnThePrimary() throws Exception {
+        mockMvc.perform(get("/todos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("On replica")));
+        mockMvc.perform(get("/todos/{id}", 100001))
+                .andExpect(jsonPath("$.title").value("On replica"));
+
+        mockMvc.perform(get("/sync"))
+                .andExpect(jsonPath("$.todos[*].title", containsInAnyOrder("On primary")));
+    }
+
+    @Test
+    void laggingReplica_isLeftOutUntilItCatchesUp() throws Exception {
+        double fallbacksBefore = fallbacks();
+        replicaJdbc.update("update replica_lag set seconds = 10");
+        awaitReplicaAvailable(false);
+
+        mockMvc.perform(get("/todos"))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("On primary")));
+        assertThat(meterRegistry.get("todo.datasource.replica.lag").gauge().value()).isEqualTo(10);
+        assertThat(fallbacks()).isGreaterThan(fallbacksBefore);
+
+        replicaJdbc.update("update replica_lag set seconds = 1");
+        awaitReplicaAvailable(true);
+        mockMvc.perform(get("/todos"))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("On replica")));
+    }
+
+    @Test
+    void failingReplicaCheck_fallsBackToThePrimary() throws Exception {
+        replicaJdbc.execute("alter table replica_lag rename to replica_lag_off");
+        awaitReplicaAvailable(false);
+
+        mockMvc.perform(get("/todos"))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("On primary")));
+        assertThat(meterRegistry.get("todo.datasource.replica.lag").gauge().value()).isNaN();
+    }
+
+    @Test
+    void writes_goToThePrimary_andKeepTheClientsReadsThere() throws Exception {
+        MvcResult created = mockMvc.perform(post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Written\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(primaryJdbc.queryForObject("select count(*) from to_do_entry where title = 'Written'", Long.class))
+                .isEqualTo(1);
+        assertThat(created.getResponse().getHeader("Set-Cookie"))
+                .contains(COOKIE_NAME).contains("HttpOnly").contains("SameSite=None");
+        Cookie sticky = created.getResponse().getCookie(COOKIE_NAME);
+
+        mockMvc.perform(get("/todos").cookie(sticky))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("Written", "On primary")));
+        mockMvc.perform(get("/todos"))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("On replica")));
+
+        Cookie expired = new Cookie(COOKIE_NAME, Long.toString(System.currentTimeMillis() - 1));
+        mockMvc.perform(get("/todos").cookie(expired))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("On replica")));
+    }
+
+    @Test
+    void categoryCacheMisses_readTheReplica() throws Exception {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        replicaJdbc.update("delete from category");
+        replicaJdbc.update("insert into category (name, color_hex, version) values ('Replica category', '#000000', 0)");
+
+        mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", containsInAnyOrder("Replica category")));
+    }
+
+    @Test
+    void replicaReads_takeNoPermitsOfThePrimary() throws Exception {
+        try (Connection first = replicas.primary().getConnection();
+             Connection second = replicas.primary().getConnection()) {
+            assertThat(availablePermits("todo-pool")).isZero();
+
+            mockMvc.perform(get("/todos"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].title", containsInAnyOrder("On replica")));
+        }
+
+        assertThat(availablePermits("todo-pool")).isEqualTo(2);
+        assertThat(availablePermits("todo-pool-replica-1")).isEqualTo(10);
+    }
+
+    private double availablePermits(String pool) {
+        return meterRegistry.get("todo.jdbc.bulkhead.available").tag("pool", pool).gauge().value();
+    }
+
+    private void awaitReplicaAvailable(boolean available) {
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                meterRegistry.get("todo.datasource.replica.available").gauge().value() == (available ? 1 : 0));
+    }
+
+    private double fallbacks() {
+        return meterRegistry.get("todo.datasource.replica.fallbacks").counter().count();
+    }
+
+    private static String insertTodo() {
+        return "insert into to_do_entry (id, title, done, created_at, version) values (?, ?, false, now(), 0)";
+    }
+}
@@ -0,0 +1,140 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.SlowQueryDTO;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A zero threshold makes every statement slow, so the plans of ordinary requests get captured
+@SpringBootTest(properties = "todo.slow-query.threshold=0ms")
+@AutoConfigureMockMvc
+class SlowQueryIntegrationTest extends EmbeddedPostgresSupport {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToDoEntryRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate.update("delete from to_do_entry");
+        jdbcTemplate.update("delete from category");
+        mockMvc.perform(delete("/actuator/slowqueries")).andExpect(status().isNoContent());
+    }
+
+    @Test
+    void bulkUpdate_isExplainedWithoutRunningItAgain() throws Exception {
+        Category category = new Category();
+        category.setName("Doomed");
+        category.setColorHex("#000000");
+        category = categoryRepository.save(category);
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Linked");
+        entry.setCategory(category);
+        todoRepository.save(entry);
+
+        mockMvc.perform(delete("/categories/{id}", category.getId()))
+                .andExpect(status().isOk());
+
+        SlowQueryDTO clearCategory = awaitPlan("set category_id=null");
+        assertThat(clearCategory.getExecutions()).isEqualTo(1);
+        assertThat(clearCategory.getPlan()).contains("Update on to_do_entry").doesNotContain("actual time");
+    }
+
+    @Test
+    void update_isNotRunAgain() {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Counted");
+        entry = todoRepository.save(entry);
+
+        jdbcTemplate.update("update to_do_entry set version = version + 1 where id = ?", entry.getId());
+
+        assertThat(awaitPlan("set version = version + 1").getPlan()).doesNotContain("actual time");
+        assertThat(jdbcTemplate.queryForObject("select version from to_do_entry where id = ?", Long.class, entry.getId()))
+                .isEqualTo(entry.getVersion() + 1);
+    }
+
+    @Test
+    void insert_isExplainedWithoutRunningItAgain() throws Exception {
+        mockMvc.perform(post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Only once\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(awaitPlan("insert into to_do_entry").getPlan())
+                .contains("Insert on to_do_entry")
+                .doesNotContain("actual time");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from to_do_entry", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void plainSelect_isExplainedWithAnalyzeAndBuffers() {
+        jdbcTemplate.queryForList("select title from to_do_entry where done = false");
+
+        assertThat(awaitPlan("select title from to_do_entry").getPlan())
+                .contains("actual time", "Buffers:", "Execution Time");
+    }
+
+    @Test
+    void lockingSelect_isExplainedWithoutRunningItAgain() {
+        jdbcTemplate.queryForList("select id from to_do_entry where done = false for update");
+
+        assertThat(awaitPlan("for update").getPlan()).contains("LockRows").doesNotContain("actual time");
+    }
+
+    @Test
+    void reset_clearsReport() throws Exception {
+        mockMvc.perform(get("/todos")).andExpect(status().isOk());
+        assertThat(slowQueries()).isNotEmpty();
+
+        mockMvc.perform(delete("/actuator/slowqueries")).andExpect(status().isNoContent());
+
+        assertThat(slowQueries()).noneMatch(query -> query.getSql().contains("from to_do_entry"));
+    }
+
+    private SlowQueryDTO awaitPlan(String sqlFragment) {
+        return await().atMost(Duration.ofSeconds(10)).until(() -> slowQueries().stream()
+                        .filter(query -> query.getSql().contains(sqlFragment) && query.getPlan() != null)
+                        .findFirst().orElse(null),
+                query -> query != null);
+    }
+
+    private List<SlowQueryDTO> slowQueries() throws Exception {
+        String body = mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, new TypeReference<>() {
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SqlCapture implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    static String last() {
+        return STATEMENTS.get(STATEMENTS.size() - 1);
+    }
+
+    static String last(String containing) {
+        return STATEMENTS.reversed().stream()
+                .filter(sql -> sql.contains(containing))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,205 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.SyncDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The high-water mark is read from PostgreSQL's transaction snapshot
+@SpringBootTest
+@AutoConfigureMockMvc
+class SyncIntegrationTest extends EmbeddedPostgresSupport {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToDoEntryRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from category_delete_job");
+        jdbcTemplate.update("delete from to_do_entry");
+        jdbcTemplate.update("delete from category");
+    }
+
+    @Test
+    void sync_withoutSinceReturnsFullSnapshot() throws Exception {
+        Category category = saveCategory("Work");
+        saveTodo("First", category);
+
+        SyncDTO sync = sync(null);
+
+        assertThat(sync.isFull()).isTrue();
+        assertThat(sync.getTodos()).extracting(ToDoEntryDTO::getTitle).containsExactly("First");
+        assertThat(sync.getCategories()).hasSize(1);
+        assertThat(sync.getHighWaterMark()).isPositive();
+    }
+
+    @Test
+    void sync_returnsOnlyRowsChangedSinceHighWaterMark() throws Exception {
+        Category category = saveCategory("Doomed");
+        ToDoEntry untouched = saveTodo("Untouched", null);
+        ToDoEntry linked = saveTodo("Linked", category);
+        ToDoEntry patched = saveTodo("Patched", null);
+        ToDoEntry removed = saveTodo("Removed", null);
+        long mark = sync(null).getHighWaterMark();
+
+        ToDoEntry created = new ToDoEntry();
+        created.setTitle("Created");
+        mockMvc.perform(post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(created)))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/todos/{id}", patched.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"done\": true}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/todos/{id}", removed.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/categories/{id}", category.getId()))
+                .andExpect(status().isOk());
+
+        SyncDTO delta = sync(mark);
+
+        assertThat(delta.isFull()).isFalse();
+        assertThat(delta.getHighWaterMark()).isGreaterThan(mark);
+        assertThat(delta.getTodos()).extracting(ToDoEntryDTO::getTitle)
+                .containsExactlyInAnyOrder("Created", "Patched", "Linked")
+                .doesNotContain(untouched.getTitle());
+        assertThat(delta.getTodos()).filteredOn(todo -> todo.getId().equals(linked.getId()))
+                .singleElement().satisfies(todo -> assertThat(todo.getCategory()).isNull());
+        assertThat(delta.getDeletedTodoIds()).containsExactly(removed.getId());
+        assertThat(delta.getCategories()).isEmpty();
+        assertThat(delta.getDeletedCategoryIds()).containsExactly(category.getId());
+
+        SyncDTO nothingNew = sync(delta.getHighWaterMark());
+        assertThat(nothingNew.getTodos()).isEmpty();
+        assertThat(nothingNew.getDeletedTodoIds()).isEmpty();
+        assertThat(nothingNew.getHighWaterMark()).isGreaterThanOrEqualTo(delta.getHighWaterMark());
+    }
+
+    @Test
+    void sync_reportsBatchDeletesAsTombstones() throws Exception {
+        ToDoEntry first = saveTodo("First", null);
+        ToDoEntry second = saveTodo("Second", null);
+        long mark = sync(null).getHighWaterMark();
+
+        mockMvc.perform(delete("/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Long[]{first.getId(), second.getId()})))
+                .andExpect(status().isOk());
+
+        assertThat(todoRepository.findById(first.getId())).isEmpty();
+        assertThat(sync(mark).getDeletedTodoIds()).containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+
+    @Test
+    void sync_sinceBeyondHighWaterMarkFallsBackToFullSnapshot() throws Exception {
+        saveTodo("First", null);
+
+        SyncDTO sync = sync(Long.MAX_VALUE / 2);
+
+        assertThat(sync.isFull()).isTrue();
+        assertThat(sync.getTodos()).hasSize(1);
+    }
+
+    @Test
+    void sync_rejectsNegativeSince() throws Exception {
+        mockMvc.perform(get("/sync").param("since", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.since").exists());
+    }
+
+    @Test
+    void sync_missesNoChangeOfAWriterStillOpenAtTheMark() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Another writer of the database, as the reactive variant or a second instance would be. It took its change_seq
+        // from the sequence before the todo committed while it is still open took one.
+        CompletableFuture<Void> otherWriter = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into to_do_entry (id, title, done, created_at, version, change_seq) "
+                    + "values (nextval('todo_entry_seq'), 'Slow', false, now(), 0, 1)");
+            written.countDown();
+            await(release);
+        }));
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+
+        saveTodo("Fast", null);
+        SyncDTO whileOpen = sync(null);
+        release.countDown();
+        otherWriter.get(5, TimeUnit.SECONDS);
+
+        assertThat(whileOpen.getTodos()).extracting(ToDoEntryDTO::getTitle).containsExactly("Fast");
+        assertThat(sync(whileOpen.getHighWaterMark()).getTodos()).extracting(ToDoEntryDTO::getTitle).contains("Slow");
+    }
+
+    private SyncDTO sync(Long since) throws Exception {
+        var request = get("/sync");
+        if (since != null) {
+            request.param("since", since.toString());
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, SyncDTO.class);
+    }
+
+    private Category saveCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setColorHex("#000000");
+        return categoryRepository.save(category);
+    }
+
+    private ToDoEntry saveTodo(String title, Category category) {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle(title);
+        entry.setCategory(category);
+        return todoRepository.save(entry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
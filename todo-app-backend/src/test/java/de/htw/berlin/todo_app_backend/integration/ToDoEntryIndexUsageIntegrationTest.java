@@ -0,0 +1,154 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryFilterDTO;
+import de.htw.berlin.todo_app_backend.service.ToDoEntryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The scheduled delete worker must not poll, its statements would end up in the capture
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "de.htw.berlin.todo_app_backend.integration.SqlCapture",
+        "todo.category-delete.poll-interval=1h"})
+class ToDoEntryIndexUsageIntegrationTest extends EmbeddedPostgresSupport {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private ToDoEntryService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from to_do_entry");
+        jdbcTemplate.update("delete from category");
+        jdbcTemplate.update("insert into category (name, color_hex, version) "
+                + "select 'Category ' || g, '#000000', 0 from generate_series(1, 50) g");
+        categoryId = jdbcTemplate.queryForObject("select min(id) from category", Long.class);
+        jdbcTemplate.update("insert into to_do_entry (id, title, done, due_date, priority, category_id, created_at, version) "
+                + "select g, 'Task ' || g, g % 10 <> 0, ?::date + (g % 365), "
+                + "(array['LOW', 'MEDIUM', 'HIGH'])[g % 3 + 1], "
+                + "case when g % 500 = 0 then ? else ? + 1 + g % 49 end, now(), 0 "
+                + "from generate_series(1, 20000) g", START, categoryId, categoryId);
+        jdbcTemplate.execute("analyze to_do_entry");
+        SqlCapture.clear();
+    }
+
+    @Test
+    void openTodosDueInRange_useOpenDueDateIndex() {
+        ToDoEntryFilterDTO filter = new ToDoEntryFilterDTO();
+        filter.setDone(false);
+        filter.setDueFrom(START.plusDays(30));
+        filter.setDueTo(START.plusDays(36));
+
+        List<ToDoEntryDTO> result = service.search(filter, Sort.unsorted(), null, Limit.of(51));
+
+        assertThat(result).isNotEmpty().allMatch(entry -> !entry.isDone());
+        assertThat(explain(SqlCapture.last(), filter.getDueFrom(), filter.getDueTo(), 51))
+                .contains("idx_todo_entry_open_due_date_active");
+    }
+
+    @Test
+    void openTodos_useOpenPartialIndex() {
+        ToDoEntryFilterDTO filter = new ToDoEntryFilterDTO();
+        filter.setDone(false);
+
+        List<ToDoEntryDTO> result = service.search(filter, Sort.unsorted(), null, Limit.of(51));
+
+        assertThat(result).hasSize(51).allMatch(entry -> !entry.isDone());
+        assertThat(explain(SqlCapture.last(), 51)).contains("idx_todo_entry_open_id_active");
+    }
+
+    @Test
+    void doneTodosDueInRange_useDueDateIndex() {
+        ToDoEntryFilterDTO filter = new ToDoEntryFilterDTO();
+        filter.setDone(true);
+        filter.setDueFrom(START.plusDays(30));
+        filter.setDueTo(START.plusDays(31));
+
+        List<ToDoEntryDTO> result = service.search(filter, Sort.unsorted(), null, Limit.of(51));
+
+        assertThat(result).isNotEmpty().allMatch(ToDoEntryDTO::isDone);
+        assertThat(explain(SqlCapture.last(), filter.getDueFrom(), filter.getDueTo(), 51))
+                .contains("idx_todo_entry_due_date_active")
+                .doesNotContain("to_do_entry_archive");
+    }
+
+    @Test
+    void titlePrefix_usesTitlePrefixIndex() {
+        ToDoEntryFilterDTO filter = new ToDoEntryFilterDTO();
+        filter.setTitle("Task 1999");
+
+        List<ToDoEntryDTO> result = service.search(filter, Sort.unsorted(), null, Limit.of(51));
+
+        assertThat(result).extracting(ToDoEntryDTO::getTitle).contains("Task 1999", "Task 19990");
+        assertThat(explain(SqlCapture.last(), "task 1999%", 51)).contains("idx_todo_entry_title_prefix_active");
+    }
+
+    @Test
+    void todosInCategory_useCategoryIdIndex() {
+        ToDoEntryFilterDTO filter = new ToDoEntryFilterDTO();
+        filter.setCategoryId(categoryId);
+
+        List<ToDoEntryDTO> result = service.search(filter, Sort.unsorted(), null, Limit.of(51));
+
+        assertThat(result).hasSize(40).allMatch(entry -> entry.getCategory().getId().equals(categoryId));
+        assertThat(explain(SqlCapture.last(), categoryId, 51))
+                .contains("idx_todo_entry_category_id_active");
+    }
+
+    @Test
+    void archiver_usesArchivableIndex() {
+        jdbcTemplate.update("update to_do_entry set completed_at = now() - interval '1 day' * (id % 60) where done");
+        jdbcTemplate.execute("analyze to_do_entry");
+
+        String plan = explain("select id from to_do_entry where archived = false and done = true and deleted = false "
+                + "and completed_at < now() - interval '30 days' order by completed_at limit 1000 for update skip locked");
+
+        assertThat(plan).contains("idx_todo_entry_archivable").doesNotContain("to_do_entry_archive ");
+    }
+
+    @Test
+    void listStamp_readsOnlyTheChangeXidIndexes() {
+        service.getListStamp(true);
+
+        String plan = explain(SqlCapture.last("change_xid"));
+        // The 50 categories are read whole, a table that small is cheaper to scan than its index
+        assertThat(plan).contains("idx_todo_entry_change_xid_active").contains("idx_todo_entry_change_xid_archive")
+                .doesNotContain("Seq Scan on to_do_entry");
+    }
+
+    @Test
+    void fullTextSearch_usesSearchVectorAndTrigramIndexes() {
+        jdbcTemplate.update("insert into to_do_entry (id, title, done, created_at, version) "
+                + "values (20001, 'Dentist appointment', false, now(), 0)");
+        // Flushes the GIN pending lists the bulk insert went to, until then the planner prices GIN scans high
+        jdbcTemplate.execute("vacuum analyze to_do_entry");
+        SqlCapture.clear();
+
+        List<ToDoEntryService.SearchResult> result = service.searchText("dentist", null, null, 51);
+
+        assertThat(result).extracting(hit -> hit.todo().getId()).containsExactly(20001L);
+        String plan = explain(SqlCapture.last("search_vector"), "dentist:*", "dentist", "dentist:*", "dentist", 51);
+        assertThat(plan).contains("idx_todo_entry_search_vector").contains("idx_todo_entry_title_trgm");
+    }
+
+    private String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, args));
+    }
+}
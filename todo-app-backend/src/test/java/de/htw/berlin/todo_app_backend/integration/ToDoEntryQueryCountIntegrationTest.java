@@ -0,0 +1,209 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The statistics are shared with the scheduled delete worker, so it must not poll while statements are counted
+@SpringBootTest(properties = "todo.category-delete.poll-interval=1h")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ToDoEntryQueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ToDoEntryRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        for (int i = 0; i < 3; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            category.setColorHex("#00000" + i);
+            Category savedCategory = categoryRepository.save(category);
+
+            for (int j = 0; j < 2; j++) {
+                ToDoEntry entry = new ToDoEntry();
+                entry.setTitle("Task " + i + "-" + j);
+                entry.setCategory(savedCategory);
+                todoRepository.save(entry);
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllTodos_loadsCategoriesInSingleStatement() throws Exception {
+        mockMvc.perform(get("/todos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[0].category.name").value("Category 2"));
+
+        // One statement for the list ETag, one for the list itself
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getTodoPage_loadsCategoriesInSingleStatement() throws Exception {
+        mockMvc.perform(get("/todos").param("limit", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(4))
+                .andExpect(jsonPath("$.items[3].category.name").value("Category 1"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getAllTodos_skipsListQueryWhenNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/todos"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        mockMvc.perform(get("/todos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getTodoById_loadsCategoryInSingleStatement() throws Exception {
+        ToDoEntry entry = todoRepository.findAllByOrderByIdDesc().get(0);
+        statistics.clear();
+
+        mockMvc.perform(get("/todos/{id}", entry.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category.name").value("Category 2"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void createTodos_batchesInserts() throws Exception {
+        List<ToDoEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            ToDoEntry entry = new ToDoEntry();
+            entry.setTitle("Batch " + i);
+            entries.add(entry);
+        }
+
+        mockMvc.perform(post("/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(entries)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(120));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void updateTodo_readsOnceAndUpdatesOnce() throws Exception {
+        ToDoEntry entry = todoRepository.findAllByOrderByIdDesc().get(0);
+        statistics.clear();
+
+        ToDoEntry updated = new ToDoEntry();
+        updated.setTitle("Renamed");
+        updated.setCategory(entry.getCategory());
+
+        mockMvc.perform(put("/todos/{id}", entry.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed"))
+                .andExpect(jsonPath("$.category.name").value("Category 2"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void patchTodo_runsSingleStatement() throws Exception {
+        ToDoEntry entry = todoRepository.findAllByOrderByIdDesc().get(0);
+        statistics.clear();
+
+        mockMvc.perform(patch("/todos/{id}", entry.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Renamed\"}"))
+                .andExpect(status().isNoContent());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(todoRepository.findById(entry.getId()).orElseThrow().getTitle()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void patchTodo_readsStatsFieldsFromTheUpdate() throws Exception {
+        ToDoEntry entry = todoRepository.findAllByOrderByIdDesc().get(0);
+        statistics.clear();
+
+        mockMvc.perform(patch("/todos/{id}", entry.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"done\": true}"))
+                .andExpect(status().isNoContent());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(todoRepository.findById(entry.getId()).orElseThrow().isDone()).isTrue();
+    }
+
+    @Test
+    void patchTodo_linksCategoryInSingleStatement() throws Exception {
+        ToDoEntry entry = todoRepository.findAllByOrderByIdDesc().get(0);
+        Category other = categoryRepository.findAll().stream()
+                .filter(category -> !category.getId().equals(entry.getCategory().getId()))
+                .findFirst().orElseThrow();
+        statistics.clear();
+
+        mockMvc.perform(patch("/todos/{id}", entry.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categoryId\": " + other.getId() + ", \"priority\": \"HIGH\"}"))
+                .andExpect(status().isNoContent());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(todoRepository.findById(entry.getId()).orElseThrow().getCategory().getId())
+                .isEqualTo(other.getId());
+    }
+}
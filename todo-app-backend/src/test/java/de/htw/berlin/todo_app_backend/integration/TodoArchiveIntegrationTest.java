@@ -0,0 +1,132 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import de.htw.berlin.todo_app_backend.service.ToDoEntryArchiver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Archiving moves rows between the partitions of to_do_entry, which only PostgreSQL has
+@SpringBootTest(properties = {"todo.archive.after=7d", "todo.archive.batch-size=2"})
+@AutoConfigureMockMvc
+class TodoArchiveIntegrationTest extends EmbeddedPostgresSupport {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ToDoEntryArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from to_do_entry");
+        insert(1, "Done long ago", true, "30 days");
+        insert(2, "Done last month", true, "20 days");
+        insert(3, "Done in spring", true, "90 days");
+        insert(4, "Done yesterday", true, "1 day");
+        insert(5, "Still open", false, null);
+    }
+
+    @Test
+    void archiver_movesTodosCompletedLongAgo_inBatches() {
+        archiver.archiveCompletedTodos();
+
+        assertThat(jdbcTemplate.queryForList("select id from to_do_entry_archive order by id", Long.class))
+                .containsExactly(1L, 2L, 3L);
+        assertThat(jdbcTemplate.queryForList("select id from to_do_entry_active order by id", Long.class))
+                .containsExactly(4L, 5L);
+        assertThat(jdbcTemplate.queryForObject("select sum(version) from to_do_entry", Long.class)).isZero();
+    }
+
+    @Test
+    void list_leavesArchivedTodosOut_unlessAskedFor() throws Exception {
+        archiver.archiveCompletedTodos();
+
+        mockMvc.perform(get("/todos"))
+                .andExpect(jsonPath("$[*].id", contains(5, 4)));
+        mockMvc.perform(get("/todos").param("includeArchived", "true"))
+                .andExpect(jsonPath("$[*].id", contains(5, 4, 3, 2, 1)));
+        mockMvc.perform(get("/todos").param("done", "true"))
+                .andExpect(jsonPath("$[*].id", contains(4)));
+        mockMvc.perform(get("/todos").param("done", "true").param("includeArchived", "true"))
+                .andExpect(jsonPath("$[*].id", contains(4, 3, 2, 1)));
+        mockMvc.perform(get("/todos").param("limit", "10"))
+                .andExpect(jsonPath("$.items[*].id", contains(5, 4)));
+        mockMvc.perform(get("/todos").param("limit", "10").param("includeArchived", "true"))
+                .andExpect(jsonPath("$.items[*].id", contains(5, 4, 3, 2, 1)));
+        mockMvc.perform(get("/todos/{id}", 1))
+                .andExpect(jsonPath("$.title").value("Done long ago"));
+    }
+
+    @Test
+    void listETag_changesWhenTodosAreArchived() throws Exception {
+        String before = mockMvc.perform(get("/todos")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String beforeWithArchived = mockMvc.perform(get("/todos").param("includeArchived", "true"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        archiver.archiveCompletedTodos();
+
+        mockMvc.perform(get("/todos").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/todos").param("includeArchived", "true").header(HttpHeaders.IF_NONE_MATCH, beforeWithArchived))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void reopening_movesArchivedTodosBack() throws Exception {
+        archiver.archiveCompletedTodos();
+
+        mockMvc.perform(patch("/todos/{id}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"done\": false}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put("/todos/{id}", 2)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Done last month\", \"done\": false}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/todos"))
+                .andExpect(jsonPath("$[*].id", contains(5, 4, 2, 1)));
+        assertThat(jdbcTemplate.queryForList("select id from to_do_entry_active where completed_at is null order by id",
+                Long.class)).containsExactly(1L, 2L, 5L);
+    }
+
+    @Test
+    void completing_stampsTheCompletionTime() throws Exception {
+        mockMvc.perform(patch("/todos/{id}", 5)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"done\": true}"))
+                .andExpect(status().isNoContent());
+        // Completing it again keeps the first completion time
+        mockMvc.perform(put("/todos/{id}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Done long ago\", \"done\": true}"))
+                .andExpect(status().isOk());
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select completed_at > now() - interval '1 minute' from to_do_entry where id = 5", Boolean.class)).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "select completed_at < now() - interval '29 days' from to_do_entry where id = 1", Boolean.class)).isTrue();
+    }
+
+    private void insert(long id, String title, boolean done, String completedAgo) {
+        jdbcTemplate.update("insert into to_do_entry (id, title, done, created_at, completed_at, version) "
+                + "values (?, ?, ?, now() - interval '1 year', now() - cast(? as interval), 0)", id, title, done, completedAgo);
+    }
+}
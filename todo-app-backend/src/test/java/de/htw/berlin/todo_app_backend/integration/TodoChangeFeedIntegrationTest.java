@@ -0,0 +1,165 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import de.htw.berlin.todo_app_backend.service.TodoChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "todo.change-feed.buffer-size=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToDoEntryRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TodoChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.disconnectAll();
+    }
+
+    @Test
+    void streamChanges_pushesCreateUpdateAndDelete() throws Exception {
+        MvcResult stream = subscribe(null);
+
+        Long id = createTodo("Streamed");
+        mockMvc.perform(patch("/todos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"done\": true}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/todos/{id}", id))
+                .andExpect(status().isOk());
+
+        awaitContent(stream, "event:DELETED");
+        String content = stream.getResponse().getContentAsString();
+        assertThat(content).contains("event:CREATED", "\"title\":\"Streamed\"");
+        assertThat(content).containsPattern("event:UPDATED\\ndata:\\{[^\\n]*\"done\":true");
+        assertThat(content).contains("data:{\"type\":\"DELETED\",\"todoId\":" + id + "}");
+        assertThat(content.indexOf("event:CREATED")).isLessThan(content.indexOf("event:UPDATED"));
+    }
+
+    @Test
+    void streamChanges_resumesAfterLastEventId() throws Exception {
+        String lastEventId = changeFeed.lastEventId();
+        Long first = createTodo("Missed one");
+        Long second = createTodo("Missed two");
+
+        MvcResult stream = subscribe(lastEventId);
+
+        awaitContent(stream, "Missed two");
+        String content = stream.getResponse().getContentAsString();
+        assertThat(content).contains("\"todoId\":" + first, "\"todoId\":" + second);
+        assertThat(content).doesNotContain("event:RESET");
+    }
+
+    @Test
+    void streamChanges_resetsWhenLastEventIdWasEvicted() throws Exception {
+        String lastEventId = changeFeed.lastEventId();
+        for (int i = 0; i < 4; i++) {
+            createTodo("Overflow " + i);
+        }
+
+        MvcResult stream = subscribe(lastEventId);
+
+        awaitContent(stream, "event:RESET");
+        assertThat(stream.getResponse().getContentAsString()).doesNotContain("Overflow");
+    }
+
+    @Test
+    void streamChanges_resetsForUnknownLastEventId() throws Exception {
+        MvcResult stream = subscribe("previous-run-42");
+
+        awaitContent(stream, "event:RESET");
+        assertThat(stream.getResponse().getContentAsString()).contains("id:" + changeFeed.lastEventId());
+    }
+
+    @Test
+    void deleteCategory_pushesOnlyTheCategory() throws Exception {
+        Category category = new Category();
+        category.setName("Doomed");
+        category.setColorHex("#000000");
+        category = categoryRepository.save(category);
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Linked");
+        entry.setCategory(category);
+        todoRepository.save(entry);
+
+        MvcResult stream = subscribe(null);
+        mockMvc.perform(delete("/categories/{id}", category.getId()))
+                .andExpect(status().isOk());
+
+        awaitContent(stream, "event:CATEGORY_DELETED");
+        String content = stream.getResponse().getContentAsString();
+        assertThat(content).contains("data:{\"type\":\"CATEGORY_DELETED\",\"categoryId\":" + category.getId() + "}");
+        assertThat(content).doesNotContain("event:UPDATED");
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        var request = get("/todos/changes").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result, ":connected");
+        return result;
+    }
+
+    private Long createTodo(String title) throws Exception {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle(title);
+        String body = mockMvc.perform(post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(entry)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, ToDoEntry.class).getId();
+    }
+
+    private void awaitContent(MvcResult result, String expected) {
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> result.getResponse().getContentAsString().contains(expected));
+    }
+}
@@ -9,16 +9,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.Matchers.matchesPattern;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -81,6 +89,177 @@ class TodoEntryControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].id").value(first.getId()));
     }
 
+    @Test
+    void getAllTodos_filtersByDoneDueDateAndTitlePrefix() throws Exception {
+        ToDoEntry match = new ToDoEntry();
+        match.setTitle("Report draft");
+        match.setDueDate(LocalDate.of(2025, 3, 10));
+        repository.save(match);
+
+        ToDoEntry done = new ToDoEntry();
+        done.setTitle("Report final");
+        done.setDone(true);
+        done.setDueDate(LocalDate.of(2025, 3, 10));
+        repository.save(done);
+
+        ToDoEntry outOfRange = new ToDoEntry();
+        outOfRange.setTitle("Report later");
+        outOfRange.setDueDate(LocalDate.of(2025, 4, 1));
+        repository.save(outOfRange);
+
+        ToDoEntry otherTitle = new ToDoEntry();
+        otherTitle.setTitle("Groceries");
+        otherTitle.setDueDate(LocalDate.of(2025, 3, 10));
+        repository.save(otherTitle);
+
+        mockMvc.perform(get("/todos")
+                        .param("done", "false")
+                        .param("dueFrom", "2025-03-01")
+                        .param("dueTo", "2025-03-31")
+                        .param("title", "report"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(match.getId()));
+    }
+
+    @Test
+    void getAllTodos_sortsByPriorityRank() throws Exception {
+        for (Priority priority : List.of(Priority.MEDIUM, Priority.HIGH, Priority.LOW)) {
+            ToDoEntry entry = new ToDoEntry();
+            entry.setTitle(priority.name());
+            entry.setPriority(priority);
+            repository.save(entry);
+        }
+
+        mockMvc.perform(get("/todos").param("sort", "priority,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].priority").value("HIGH"))
+                .andExpect(jsonPath("$[1].priority").value("MEDIUM"))
+                .andExpect(jsonPath("$[2].priority").value("LOW"));
+    }
+
+    @Test
+    void getAllTodos_rejectsUnknownSortField() throws Exception {
+        mockMvc.perform(get("/todos").param("sort", "category.name"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Cannot sort by category.name"));
+    }
+
+    @Test
+    void getTodoPage_appliesFilterAcrossPages() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            ToDoEntry entry = new ToDoEntry();
+            entry.setTitle("Task " + i);
+            entry.setPriority(i % 2 == 0 ? Priority.HIGH : Priority.LOW);
+            repository.save(entry);
+        }
+
+        String responseBody = mockMvc.perform(get("/todos").param("limit", "2").param("priority", "HIGH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Task 4"))
+                .andExpect(jsonPath("$.items[1].title").value("Task 2"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String nextCursor = objectMapper.readTree(responseBody).get("nextCursor").asText();
+
+        mockMvc.perform(get("/todos").param("limit", "2").param("priority", "HIGH").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Task 0"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getTodoPage_walksPagesWithCursor() throws Exception {
+        ToDoEntry first = new ToDoEntry();
+        first.setTitle("First");
+        repository.save(first);
+
+        ToDoEntry second = new ToDoEntry();
+        second.setTitle("Second");
+        repository.save(second);
+
+        ToDoEntry third = new ToDoEntry();
+        third.setTitle("Third");
+        repository.save(third);
+
+        String responseBody = mockMvc.perform(get("/todos").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(third.getId()))
+                .andExpect(jsonPath("$.items[1].id").value(second.getId()))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String nextCursor = objectMapper.readTree(responseBody).get("nextCursor").asText();
+
+        mockMvc.perform(get("/todos").param("limit", "2").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(first.getId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getTodoPage_rejectsInvalidCursor() throws Exception {
+        mockMvc.perform(get("/todos").param("limit", "2").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").isString());
+    }
+
+    @Test
+    void exportTodos_streamsJsonArray() throws Exception {
+        ToDoEntry first = new ToDoEntry();
+        first.setTitle("First");
+        repository.save(first);
+
+        ToDoEntry second = new ToDoEntry();
+        second.setTitle("Second");
+        repository.save(second);
+
+        MvcResult result = mockMvc.perform(get("/todos/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(first.getId()))
+                .andExpect(jsonPath("$[1].title").value("Second"));
+    }
+
+    @Test
+    void exportTodos_streamsNdjson() throws Exception {
+        ToDoEntry first = new ToDoEntry();
+        first.setTitle("First");
+        repository.save(first);
+
+        ToDoEntry second = new ToDoEntry();
+        second.setTitle("Second");
+        repository.save(second);
+
+        MvcResult result = mockMvc.perform(get("/todos/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(first.getId());
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("Second");
+    }
+
     @Test
     void updateTodo_overwritesEntity() throws Exception {
         ToDoEntry entry = new ToDoEntry();
@@ -112,6 +291,134 @@ class TodoEntryControllerIntegrationTest {
         assertThat(refreshed.getPriority()).isEqualTo(Priority.MEDIUM);
     }
 
+    @Test
+    void updateTodo_returnsNotFoundErrorForMissingEntry() {
+        ToDoEntry updated = new ToDoEntry();
+        updated.setTitle("Ghost");
+
+        assertThatThrownBy(() -> mockMvc.perform(put("/todos/{id}", 987654L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated))))
+                .hasRootCauseMessage("Todo not found");
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void patchTodo_updatesOnlySentFields() throws Exception {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Keep title");
+        entry.setDescription("Keep description");
+        entry.setPriority(Priority.HIGH);
+        ToDoEntry saved = repository.save(entry);
+        OffsetDateTime createdAt = repository.findById(saved.getId()).orElseThrow().getCreatedAt();
+
+        mockMvc.perform(patch("/todos/{id}", saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"done\": true}"))
+                .andExpect(status().isNoContent());
+
+        ToDoEntry refreshed = repository.findById(saved.getId()).orElseThrow();
+        assertThat(refreshed.isDone()).isTrue();
+        assertThat(refreshed.getTitle()).isEqualTo("Keep title");
+        assertThat(refreshed.getDescription()).isEqualTo("Keep description");
+        assertThat(refreshed.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(refreshed.getCreatedAt()).isEqualTo(createdAt);
+    }
+
+    @Test
+    void patchTodo_rejectsInvalidFields() throws Exception {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Title");
+        ToDoEntry saved = repository.save(entry);
+
+        mockMvc.perform(patch("/todos/{id}", saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"This title is far too long for a todo\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Maximum of 25 characters allowed"));
+    }
+
+    @Test
+    void getTodoById_returnsNotModifiedForMatchingETag() throws Exception {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Cached");
+        ToDoEntry saved = repository.save(entry);
+
+        String etag = mockMvc.perform(get("/todos/{id}", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/todos/{id}", saved.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllTodos_returnsNotModifiedUntilListChanges() throws Exception {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("First");
+        repository.save(entry);
+
+        String etag = mockMvc.perform(get("/todos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/todos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/todos/{id}", entry.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"done\": true}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/todos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].done").value(true));
+    }
+
+    @Test
+    void updateTodo_rejectsStaleVersion() throws Exception {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Original");
+        ToDoEntry saved = repository.save(entry);
+
+        ToDoEntry updated = new ToDoEntry();
+        updated.setTitle("Stale");
+        updated.setVersion(saved.getVersion() + 1);
+
+        mockMvc.perform(put("/todos/{id}", saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(repository.findById(saved.getId()).orElseThrow().getTitle()).isEqualTo("Original");
+    }
+
+    @Test
+    void patchTodo_honoursIfMatch() throws Exception {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setTitle("Original");
+        ToDoEntry saved = repository.save(entry);
+        String etag = "\"" + saved.getVersion() + "\"";
+
+        mockMvc.perform(patch("/todos/{id}", saved.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"First writer\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(patch("/todos/{id}", saved.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Second writer\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/todos/{id}", saved.getId()).header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(repository.findById(saved.getId()).orElseThrow().getTitle()).isEqualTo("First writer");
+    }
+
     @Test
     void deleteTodo_removesEntity() throws Exception {
         ToDoEntry entry = new ToDoEntry();
@@ -123,4 +430,93 @@ class TodoEntryControllerIntegrationTest {
 
         assertThat(repository.findById(saved.getId())).isEmpty();
     }
+
+    @Test
+    void createTodos_persistsAllEntries() throws Exception {
+        ToDoEntry first = new ToDoEntry();
+        first.setTitle("First");
+        ToDoEntry second = new ToDoEntry();
+        second.setTitle("Second");
+        second.setPriority(Priority.LOW);
+
+        mockMvc.perform(post("/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first, second))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[1].priority").value("LOW"));
+
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void createTodos_reportsErrorsPerItem() throws Exception {
+        ToDoEntry valid = new ToDoEntry();
+        valid.setTitle("Valid");
+        ToDoEntry invalid = new ToDoEntry();
+        invalid.setTitle("This title is far too long for a todo");
+
+        mockMvc.perform(post("/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['[1].title']").value("Maximum of 25 characters allowed"))
+                .andExpect(jsonPath("$['[0].title']").doesNotExist());
+
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void updateTodos_overwritesAllEntries() throws Exception {
+        ToDoEntry first = new ToDoEntry();
+        first.setTitle("First");
+        ToDoEntry savedFirst = repository.save(first);
+
+        ToDoEntry second = new ToDoEntry();
+        second.setTitle("Second");
+        ToDoEntry savedSecond = repository.save(second);
+
+        ToDoEntry updatedFirst = new ToDoEntry();
+        updatedFirst.setId(savedFirst.getId());
+        updatedFirst.setTitle("First done");
+        updatedFirst.setDone(true);
+        ToDoEntry updatedSecond = new ToDoEntry();
+        updatedSecond.setId(savedSecond.getId());
+        updatedSecond.setTitle("Second done");
+        updatedSecond.setDone(true);
+
+        mockMvc.perform(put("/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(updatedFirst, updatedSecond))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("First done"))
+                .andExpect(jsonPath("$[1].done").value(true));
+
+        ToDoEntry refreshed = repository.findById(savedSecond.getId()).orElseThrow();
+        assertThat(refreshed.getTitle()).isEqualTo("Second done");
+        assertThat(refreshed.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void deleteTodos_removesAllEntries() throws Exception {
+        ToDoEntry first = new ToDoEntry();
+        first.setTitle("First");
+        ToDoEntry savedFirst = repository.save(first);
+
+        ToDoEntry second = new ToDoEntry();
+        second.setTitle("Second");
+        ToDoEntry savedSecond = repository.save(second);
+
+        ToDoEntry kept = new ToDoEntry();
+        kept.setTitle("Kept");
+        repository.save(kept);
+
+        mockMvc.perform(delete("/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(savedFirst.getId(), savedSecond.getId()))))
+                .andExpect(status().isOk());
+
+        assertThat(repository.findAll()).extracting(ToDoEntry::getTitle).containsExactly("Kept");
+    }
 }
@@ -0,0 +1,170 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import de.htw.berlin.todo_app_backend.service.TodoStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// H2 stages the rows in JDBC batches; TodoImportPostgresIntegrationTest covers COPY
+@SpringBootTest(properties = {"todo.import.chunk-size=2", "todo.import.max-reported-rejections=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ToDoEntryRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TodoStats stats;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Category work;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+        stats.recount();
+        // The import resolves category names through the cached list, which the cleanup bypassed
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        work = new Category();
+        work.setName("Work");
+        work.setColorHex("#123456");
+        work = categoryRepository.save(work);
+    }
+
+    @Test
+    void csvImport_loadsValidRows_createsMissingCategories_andReportsTheRest() throws Exception {
+        String csv = """
+                title,description,done,dueDate,priority,category,categoryColorHex
+                Write report,"Quarterly, for finance",false,2030-01-31,high,Work,
+                Water plants,,true,,,Home,#00ff00
+                Call plumber,,,,LOW,Home,
+                ,No title,false,,,,
+                Bad priority,,false,,URGENT,,
+                Bad date,,maybe,31.01.2030,,,
+                Unfiled,,,,,,
+                """;
+
+        mockMvc.perform(post("/todos/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(4))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.categoriesCreated").value(1))
+                .andExpect(jsonPath("$.rejections[0].row").value(4))
+                .andExpect(jsonPath("$.rejections[0].errors", contains("title: must not be null")))
+                .andExpect(jsonPath("$.rejections[1].row").value(5))
+                .andExpect(jsonPath("$.rejections[1].errors", contains("priority: must be LOW, MEDIUM or HIGH")))
+                // Only max-reported-rejections are listed
+                .andExpect(jsonPath("$.rejections.length()").value(2));
+
+        mockMvc.perform(get("/todos"))
+                .andExpect(jsonPath("$[*].title",
+                        contains("Unfiled", "Call plumber", "Water plants", "Write report")))
+                .andExpect(jsonPath("$[3].description").value("Quarterly, for finance"))
+                .andExpect(jsonPath("$[3].priority").value("HIGH"))
+                .andExpect(jsonPath("$[3].dueDate").value("2030-01-31"))
+                .andExpect(jsonPath("$[3].category.name").value("Work"))
+                .andExpect(jsonPath("$[2].done").value(true))
+                .andExpect(jsonPath("$[2].category.colorHex").value("#00ff00"))
+                .andExpect(jsonPath("$[1].category.name").value("Home"));
+        assertThat(categoryRepository.findAll()).extracting(Category::getName).containsExactlyInAnyOrder("Work", "Home");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todo_import_staging", Long.class)).isZero();
+    }
+
+    @Test
+    void ndjsonImport_acceptsTheExportFormat_andRejectsUnreadableLines() throws Exception {
+        String ndjson = """
+                {"id":7,"title":"Exported","done":false,"priority":"MEDIUM","category":{"id":1,"name":"Errands","colorHex":"#abcdef"},"createdAt":"2024-05-01T10:00:00+02:00","version":3}
+
+                {"title":"Plain","category":"Work"}
+                {"title":
+                ["not", "an", "object"]
+                {"title":"Way too long for a todo title"}
+                """;
+
+        mockMvc.perform(post("/todos/import").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.categoriesCreated").value(1))
+                .andExpect(jsonPath("$.rejections[0].row").value(3))
+                .andExpect(jsonPath("$.rejections[1].row").value(4))
+                .andExpect(jsonPath("$.rejections[1].errors", contains("Expected a JSON object")));
+
+        mockMvc.perform(get("/todos"))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("Exported", "Plain")));
+        mockMvc.perform(get("/todos/search").param("q", "exported"))
+                .andExpect(jsonPath("$.items[0].title").value("Exported"))
+                .andExpect(jsonPath("$.items[0].category.colorHex").value("#abcdef"))
+                .andExpect(jsonPath("$.items[0].createdAt").value("2024-05-01T10:00:00+02:00"))
+                // Ids come from the todo sequence, not from the file
+                .andExpect(jsonPath("$.items[0].id").value(not(7)));
+    }
+
+    @Test
+    void import_updatesTheStats() throws Exception {
+        String csv = """
+                title,done,category
+                One,false,Work
+                Two,false,Work
+                Three,true,
+                """;
+
+        mockMvc.perform(post("/todos/import").contentType("text/csv").content(csv))
+                .andExpect(jsonPath("$.imported").value(3));
+
+        mockMvc.perform(get("/todos/stats"))
+                .andExpect(jsonPath("$.open").value(2))
+                .andExpect(jsonPath("$.done").value(1))
+                .andExpect(jsonPath("$.categories[0].categoryId").value(work.getId()))
+                .andExpect(jsonPath("$.categories[0].open").value(2));
+    }
+
+    @Test
+    void malformedCsv_isRejectedAsAWhole() throws Exception {
+        String csv = """
+                title,done
+                Fine,false
+                "Unclosed,false
+                """;
+
+        mockMvc.perform(post("/todos/import").contentType("text/csv").content(csv))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(startsWith("Unreadable CSV in row 2")));
+
+        assertThat(todoRepository.count()).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todo_import_staging", Long.class)).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The COPY into the unlogged staging table and the merge into the partitioned to_do_entry. A pool of one connection
+// checks that staging never holds one connection while waiting for another.
+@SpringBootTest(properties = {"todo.import.chunk-size=40", "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=5000"})
+@AutoConfigureMockMvc
+class TodoImportPostgresIntegrationTest extends EmbeddedPostgresSupport {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from to_do_entry");
+        jdbcTemplate.update("delete from category");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void csvImport_copiesEveryRow_andMergesThemInChunks() throws Exception {
+        StringBuilder csv = new StringBuilder("title,description,done,priority,category\n");
+        for (int i = 1; i <= 100; i++) {
+            csv.append("Todo ").append(i).append(",,").append(i % 4 == 0).append(",MEDIUM,Bulk\n");
+        }
+
+        mockMvc.perform(post("/todos/import").contentType("text/csv").content(csv.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(100))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.categoriesCreated").value(1));
+
+        assertThat(jdbcTemplate.queryForObject("select count(distinct id) from to_do_entry_active", Long.class))
+                .isEqualTo(100);
+        // One change_seq per merged chunk of 40
+        assertThat(jdbcTemplate.queryForObject("select count(distinct change_seq) from to_do_entry", Long.class))
+                .isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from to_do_entry where done and completed_at = created_at", Long.class)).isEqualTo(25);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todo_import_staging", Long.class)).isZero();
+        mockMvc.perform(get("/todos/stats"))
+                .andExpect(jsonPath("$.open").value(75))
+                .andExpect(jsonPath("$.done").value(25));
+    }
+
+    @Test
+    void copy_escapesTheTextFormatsSpecialCharacters() throws Exception {
+        String ndjson = "{\"title\":\"Back\\\\slash \\\\N\",\"description\":\"Tab\\there\\nnew line\\r\\nend\"}\n";
+
+        mockMvc.perform(post("/todos/import").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(jsonPath("$.imported").value(1));
+
+        assertThat(jdbcTemplate.queryForObject("select title from to_do_entry", String.class))
+                .isEqualTo("Back\\slash \\N");
+        assertThat(jdbcTemplate.queryForObject("select description from to_do_entry", String.class))
+                .isEqualTo("Tab\there\nnew line\r\nend");
+    }
+
+    @Test
+    void importedIds_doNotCollideWithTheOnesTheApplicationHandsOut() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/todos").contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"Created\"}"))
+                    .andExpect(status().isOk());
+            mockMvc.perform(post("/todos/import").contentType("text/csv").content("title\nImported A\nImported B\n"))
+                    .andExpect(jsonPath("$.imported").value(2));
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList("select id from to_do_entry", Long.class);
+        assertThat(ids).hasSize(9).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void malformedCsv_isRejectedBeforeTheCopy_andImportsNothing() throws Exception {
+        String csv = "title\nFine\nAlso fine\n\"Unclosed\n";
+
+        mockMvc.perform(post("/todos/import").contentType("text/csv").content(csv))
+                .andExpect(status().isBadRequest());
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from to_do_entry", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todo_import_staging", Long.class)).isZero();
+        // The spooled rows were dropped and the pool's only connection is free again
+        mockMvc.perform(post("/todos/import").contentType("text/csv").content("title\nAfterwards\n"))
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+}
@@ -0,0 +1,176 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// H2 has no full-text search, so these run against the in-memory TodoSearchIndex
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToDoEntryRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category work;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+        work = new Category();
+        work.setName("Work");
+        work.setColorHex("#123456");
+        work = categoryRepository.save(work);
+    }
+
+    @Test
+    void search_ranksTitleMatchesAboveDescriptionMatches() throws Exception {
+        ToDoEntryDTO inDescription = create("Shopping", "Buy milk and bread", null);
+        ToDoEntryDTO inTitle = create("Milk the budget", null, null);
+        create("Unrelated", "Nothing here", null);
+
+        mockMvc.perform(get("/todos/search").param("q", "mil"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(inTitle.getId()))
+                .andExpect(jsonPath("$.items[1].id").value(inDescription.getId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void search_toleratesTyposInTheTitle() throws Exception {
+        ToDoEntryDTO dentist = create("Dentist appointment", null, null);
+
+        mockMvc.perform(get("/todos/search").param("q", "dentsit appointment"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(dentist.getId()));
+    }
+
+    @Test
+    void search_requiresEveryWord_andFiltersByCategory() throws Exception {
+        ToDoEntryDTO workReport = create("Quarterly report", "Send to finance", work.getId());
+        create("Quarterly taxes", null, null);
+
+        mockMvc.perform(get("/todos/search").param("q", "quarterly finance"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(workReport.getId()));
+        mockMvc.perform(get("/todos/search").param("q", "quarterly").param("categoryId", work.getId().toString()))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(workReport.getId()));
+    }
+
+    @Test
+    void search_dropsTheCategoryOfTodosUnlinkedByItsDelete() throws Exception {
+        create("Quarterly report", null, work.getId());
+        mockMvc.perform(get("/todos/search").param("q", "quarterly").param("categoryId", work.getId().toString()))
+                .andExpect(jsonPath("$.items.length()").value(1));
+
+        mockMvc.perform(delete("/categories/{id}", work.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/todos/search").param("q", "quarterly").param("categoryId", work.getId().toString()))
+                .andExpect(jsonPath("$.items").isEmpty());
+        mockMvc.perform(get("/todos/search").param("q", "quarterly"))
+                .andExpect(jsonPath("$.items.length()").value(1));
+    }
+
+    @Test
+    void search_pagesThroughEqualScoresByCursor() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(create("Plan sprint " + i, null, null).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/todos/search").param("q", "sprint").param("limit", "2");
+            if (cursor != null) {
+                request.param("after", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(created.reversed());
+    }
+
+    @Test
+    void search_followsCommittedChanges() throws Exception {
+        ToDoEntryDTO todo = create("Call plumber", null, null);
+        mockMvc.perform(get("/todos/search").param("q", "plumber"))
+                .andExpect(jsonPath("$.items.length()").value(1));
+
+        mockMvc.perform(patch("/todos/{id}", todo.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Call electrician\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/todos/search").param("q", "plumber"))
+                .andExpect(jsonPath("$.items").isEmpty());
+        mockMvc.perform(get("/todos/search").param("q", "electrician"))
+                .andExpect(jsonPath("$.items.length()").value(1));
+
+        mockMvc.perform(delete("/todos/{id}", todo.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/todos/search").param("q", "electrician"))
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    void search_rejectsBlankQueriesAndForeignCursors() throws Exception {
+        mockMvc.perform(get("/todos/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/todos/search").param("q", "milk").param("after", "MTI"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ToDoEntryDTO create(String title, String description, Long categoryId) throws Exception {
+        ToDoEntryDTO dto = new ToDoEntryDTO();
+        dto.setTitle(title);
+        dto.setDescription(description);
+        if (categoryId != null) {
+            dto.setCategory(new CategoryDTO(categoryId, work.getName(), work.getColorHex(), work.getVersion()));
+        }
+        String body = mockMvc.perform(post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, ToDoEntryDTO.class);
+    }
+}
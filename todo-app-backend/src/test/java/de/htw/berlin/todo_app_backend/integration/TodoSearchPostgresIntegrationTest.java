@@ -0,0 +1,92 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import de.htw.berlin.todo_app_backend.service.ToDoEntryService;
+import de.htw.berlin.todo_app_backend.service.ToDoEntryService.SearchResult;
+import de.htw.berlin.todo_app_backend.util.CursorCodec.RankedCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The native search behind GET /todos/search, on the generated search_vector column and pg_trgm
+@SpringBootTest
+class TodoSearchPostgresIntegrationTest extends EmbeddedPostgresSupport {
+
+    @Autowired
+    private ToDoEntryService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from to_do_entry");
+        jdbcTemplate.update("delete from category");
+        categoryId = jdbcTemplate.queryForObject(
+                "insert into category (name, color_hex, version) values ('Work', '#123456', 0) returning id", Long.class);
+    }
+
+    @Test
+    void search_ranksTitleMatchesAboveDescriptionMatches() {
+        insert(1, "Shopping", "Buy milk and bread", null, false);
+        insert(2, "Milk the budget", null, null, false);
+        insert(3, "Unrelated", "Nothing here", null, false);
+
+        assertThat(ids(service.searchText("mil", null, null, 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void search_toleratesTyposInTheTitle() {
+        insert(1, "Dentist appointment", null, null, false);
+
+        assertThat(ids(service.searchText("dentsit appointment", null, null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void search_requiresEveryWord_filtersByCategory_andSkipsDeletedTodos() {
+        insert(1, "Quarterly report", "Send to finance", categoryId, false);
+        insert(2, "Quarterly taxes", null, null, false);
+        insert(3, "Quarterly report", "Send to finance", categoryId, true);
+
+        assertThat(ids(service.searchText("quarterly finance", null, null, 10))).containsExactly(1L);
+        assertThat(ids(service.searchText("quarterly", categoryId, null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void search_pagesThroughEqualScoresByCursor() {
+        for (int i = 1; i <= 5; i++) {
+            insert(i, "Plan sprint", null, null, false);
+        }
+
+        List<Long> seen = new ArrayList<>();
+        RankedCursor after = null;
+        List<SearchResult> page;
+        do {
+            page = service.searchText("sprint", null, after, 2);
+            seen.addAll(ids(page));
+            if (!page.isEmpty()) {
+                SearchResult last = page.get(page.size() - 1);
+                after = new RankedCursor(last.score(), last.todo().getId());
+            }
+        } while (page.size() == 2);
+
+        assertThat(seen).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    private void insert(long id, String title, String description, Long category, boolean deleted) {
+        jdbcTemplate.update("insert into to_do_entry (id, title, description, done, category_id, created_at, version, "
+                + "deleted) values (?, ?, ?, false, ?, now(), 0, ?)", id, title, description, category, deleted);
+    }
+
+    private static List<Long> ids(List<SearchResult> results) {
+        return results.stream().map(result -> result.todo().getId()).toList();
+    }
+}
@@ -0,0 +1,176 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import de.htw.berlin.todo_app_backend.service.TodoStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TodoStatsIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneId.of("Europe/Berlin"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToDoEntryRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TodoStats stats;
+
+    private Category work;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+        // The cleanup above bypasses the services, so the counters are brought back in line first
+        stats.recount();
+        work = new Category();
+        work.setName("Work");
+        work.setColorHex("#123456");
+        work = categoryRepository.save(work);
+    }
+
+    @Test
+    void stats_followWritesThroughTheApi() throws Exception {
+        ToDoEntryDTO overdue = create("Overdue", work.getId(), Priority.HIGH, TODAY.minusDays(3));
+        ToDoEntryDTO dueToday = create("Due today", work.getId(), Priority.HIGH, TODAY);
+        ToDoEntryDTO undated = create("Undated", null, null, null);
+        create("Later", null, Priority.LOW, TODAY.plusDays(7));
+
+        mockMvc.perform(get("/todos/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.date").value(TODAY.toString()))
+                .andExpect(jsonPath("$.open").value(4))
+                .andExpect(jsonPath("$.done").value(0))
+                .andExpect(jsonPath("$.overdue").value(1))
+                .andExpect(jsonPath("$.categories[0].categoryId").value(work.getId()))
+                .andExpect(jsonPath("$.categories[0].open").value(2))
+                .andExpect(jsonPath("$.categories[0].overdue").value(1))
+                .andExpect(jsonPath("$.categories[1].categoryId").doesNotExist())
+                .andExpect(jsonPath("$.categories[1].open").value(2))
+                .andExpect(jsonPath("$.priorities[0].priority").value("LOW"))
+                .andExpect(jsonPath("$.priorities[1].priority").value("HIGH"))
+                .andExpect(jsonPath("$.priorities[1].overdue").value(1))
+                .andExpect(jsonPath("$.priorities[2].priority").doesNotExist());
+
+        // Patch finishes the overdue one, the full update moves a todo into the category
+        mockMvc.perform(patch("/todos/{id}", overdue.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"done\": true}"))
+                .andExpect(status().isNoContent());
+        undated.setCategory(new CategoryDTO(work.getId(), work.getName(), work.getColorHex(), work.getVersion()));
+        mockMvc.perform(put("/todos/{id}", undated.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(undated)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/todos/{id}", dueToday.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/todos/stats"))
+                .andExpect(jsonPath("$.open").value(2))
+                .andExpect(jsonPath("$.done").value(1))
+                .andExpect(jsonPath("$.overdue").value(0))
+                .andExpect(jsonPath("$.categories[0].open").value(1))
+                .andExpect(jsonPath("$.categories[0].done").value(1));
+        assertThat(stats.recount()).isFalse();
+
+        // Deleting the category moves its todos to the uncategorized ones
+        mockMvc.perform(delete("/categories/{id}", work.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/todos/stats"))
+                .andExpect(jsonPath("$.categories.length()").value(1))
+                .andExpect(jsonPath("$.categories[0].categoryId").doesNotExist())
+                .andExpect(jsonPath("$.categories[0].open").value(2))
+                .andExpect(jsonPath("$.categories[0].done").value(1));
+        assertThat(stats.recount()).isFalse();
+    }
+
+    @Test
+    void stats_followBatchWrites() throws Exception {
+        ToDoEntryDTO first = create("First", work.getId(), Priority.MEDIUM, TODAY.minusDays(1));
+        ToDoEntryDTO second = create("Second", work.getId(), Priority.MEDIUM, null);
+
+        mockMvc.perform(delete("/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first.getId(), second.getId()))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/todos/stats"))
+                .andExpect(jsonPath("$.open").value(0))
+                .andExpect(jsonPath("$.overdue").value(0))
+                .andExpect(jsonPath("$.categories").isEmpty());
+        assertThat(stats.recount()).isFalse();
+    }
+
+    @Test
+    void recount_repairsDriftFromWritesThatBypassTheServices() throws Exception {
+        create("Tracked", null, Priority.LOW, null);
+        ToDoEntry untracked = new ToDoEntry();
+        untracked.setTitle("Untracked");
+        untracked.setDueDate(TODAY.minusDays(1));
+        todoRepository.save(untracked);
+
+        mockMvc.perform(get("/todos/stats")).andExpect(jsonPath("$.open").value(1));
+
+        assertThat(stats.recount()).isTrue();
+
+        mockMvc.perform(get("/todos/stats"))
+                .andExpect(jsonPath("$.open").value(2))
+                .andExpect(jsonPath("$.overdue").value(1));
+        assertThat(stats.recount()).isFalse();
+    }
+
+    private ToDoEntryDTO create(String title, Long categoryId, Priority priority, LocalDate dueDate) throws Exception {
+        ToDoEntryDTO dto = new ToDoEntryDTO();
+        dto.setTitle(title);
+        dto.setPriority(priority);
+        dto.setDueDate(dueDate);
+        if (categoryId != null) {
+            dto.setCategory(new CategoryDTO(categoryId, work.getName(), work.getColorHex(), work.getVersion()));
+        }
+        String body = mockMvc.perform(post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, ToDoEntryDTO.class);
+    }
+}
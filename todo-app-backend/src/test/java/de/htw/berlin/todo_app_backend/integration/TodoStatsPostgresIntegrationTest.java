@@ -0,0 +1,106 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import de.htw.berlin.todo_app_backend.service.TodoStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The recount groups by a collapsed due date, which PostgreSQL is stricter about than H2
+@SpringBootTest
+@AutoConfigureMockMvc
+class TodoStatsPostgresIntegrationTest extends EmbeddedPostgresSupport {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneId.of("Europe/Berlin"));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ToDoEntryRepository repo;
+
+    @Autowired
+    private TodoStats stats;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from to_do_entry");
+    }
+
+    @Test
+    void countStatsGroups_collapsesDoneAndOverdueDueDates() {
+        insert(1, false, "HIGH", TODAY.minusDays(3));
+        insert(2, false, "HIGH", TODAY.minusDays(9));
+        insert(3, false, "HIGH", TODAY.plusDays(2));
+        insert(4, true, "HIGH", TODAY.plusDays(2));
+        insert(5, true, "HIGH", TODAY.minusDays(1));
+
+        assertThat(repo.countStatsGroups(TODAY, TODAY.minusDays(1))).containsExactlyInAnyOrder(
+                new TodoStatsGroupDTO(null, Priority.HIGH, false, TODAY.minusDays(1), 2),
+                new TodoStatsGroupDTO(null, Priority.HIGH, false, TODAY.plusDays(2), 1),
+                new TodoStatsGroupDTO(null, Priority.HIGH, true, null, 2));
+    }
+
+    @Test
+    void stats_areCountedFromPostgres() throws Exception {
+        insert(1, false, "LOW", TODAY.minusDays(3));
+        insert(2, false, null, null);
+        insert(3, true, "LOW", null);
+        stats.recount();
+
+        mockMvc.perform(get("/todos/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.open").value(2))
+                .andExpect(jsonPath("$.done").value(1))
+                .andExpect(jsonPath("$.overdue").value(1));
+    }
+
+    @Test
+    void patch_movesTheTodoToTheGroupItWasPatchedInto() throws Exception {
+        Long work = jdbcTemplate.queryForObject("insert into category (name, color_hex, version) "
+                + "values ('Work', '#000000', 0) returning id", Long.class);
+        Long gone = jdbcTemplate.queryForObject("insert into category (name, color_hex, version, deleted) "
+                + "values ('Gone', '#000000', 0, true) returning id", Long.class);
+        insert(1, false, "LOW", TODAY.minusDays(3));
+        stats.recount();
+
+        mockMvc.perform(patch("/todos/{id}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"done\": true, \"priority\": \"HIGH\", \"categoryId\": " + work + "}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(patch("/todos/{id}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categoryId\": " + gone + "}"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/todos/stats"))
+                .andExpect(jsonPath("$.done").value(1))
+                .andExpect(jsonPath("$.overdue").value(0))
+                .andExpect(jsonPath("$.categories[0].categoryId").value(work));
+        assertThat(stats.recount()).isFalse();
+    }
+
+    private void insert(long id, boolean done, String priority, LocalDate dueDate) {
+        jdbcTemplate.update("insert into to_do_entry (id, title, done, priority, due_date, created_at, version) "
+                + "values (?, 'Todo', ?, ?, ?, now(), 0)", id, done, priority, dueDate);
+    }
+}
@@ -0,0 +1,188 @@
+package de.htw.berlin.todo_app_backend.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WireFormatIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule());
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).registerModule(new JavaTimeModule());
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ToDoEntryRepository todoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        Category category = new Category();
+        category.setName("Work");
+        category.setColorHex("#123456");
+        category = categoryRepository.save(category);
+        List<ToDoEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ToDoEntry entry = new ToDoEntry();
+            entry.setTitle("Task " + i);
+            entry.setDescription("A description that repeats for every task");
+            entry.setCategory(i % 2 == 0 ? category : null);
+            entries.add(entry);
+        }
+        todoRepository.saveAll(entries);
+    }
+
+    @Test
+    void getAllTodos_servesCbor() throws Exception {
+        byte[] body = mockMvc.perform(get("/todos").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<ToDoEntryDTO> todos = cborMapper.readValue(body, new TypeReference<>() {
+        });
+        assertThat(todos).hasSize(50);
+        assertThat(todos.get(0).getTitle()).isEqualTo("Task 49");
+        assertThat(todos.get(1).getCategory().getName()).isEqualTo("Work");
+    }
+
+    @Test
+    void getAllTodos_servesSmile() throws Exception {
+        byte[] json = mockMvc.perform(get("/todos"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] body = mockMvc.perform(get("/todos").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<ToDoEntryDTO> todos = smileMapper.readValue(body, new TypeReference<>() {
+        });
+        assertThat(todos).hasSize(50);
+        assertThat(body.length).isLessThan(json.length);
+    }
+
+    @Test
+    void createTodo_acceptsCborBody() throws Exception {
+        ToDoEntryDTO dto = new ToDoEntryDTO();
+        dto.setTitle("Binary");
+
+        mockMvc.perform(post("/todos")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(dto)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title").value("Binary"));
+    }
+
+    @Test
+    void getAllTodos_normalizedShapeSendsEachCategoryOnce() throws Exception {
+        Long categoryId = categoryRepository.findAll().get(0).getId();
+
+        mockMvc.perform(get("/todos").param("shape", "normalized").param("done", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories.length()").value(1))
+                .andExpect(jsonPath("$.categories[0].name").value("Work"))
+                .andExpect(jsonPath("$.todos.length()").value(50))
+                .andExpect(jsonPath("$.todos[0].categoryId").doesNotExist())
+                .andExpect(jsonPath("$.todos[1].categoryId").value(categoryId))
+                .andExpect(jsonPath("$.todos[1].category").doesNotExist());
+    }
+
+    @Test
+    void getAllTodos_normalizedShapeSharesListETag() throws Exception {
+        String etag = mockMvc.perform(get("/todos"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/todos").param("shape", "normalized").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllTodos_isGzippedWhenClientAcceptsIt() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<byte[]> plain = client.send(request("/todos", null), HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> gzipped = client.send(request("/todos", "gzip"), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(plain.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(gzipped.body().length).isLessThan(plain.body().length / 4);
+        List<ToDoEntryDTO> todos = objectMapper.readValue(gunzip(gzipped.body()), new TypeReference<>() {
+        });
+        assertThat(todos).hasSize(50);
+    }
+
+    @Test
+    void changeStream_isNotGzipped() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<java.io.InputStream> response = client.send(request("/todos/changes", "gzip"),
+                HttpResponse.BodyHandlers.ofInputStream());
+        response.body().close();
+
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    }
+
+    private HttpRequest request(String path, String acceptEncoding) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (acceptEncoding != null) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return builder.build();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
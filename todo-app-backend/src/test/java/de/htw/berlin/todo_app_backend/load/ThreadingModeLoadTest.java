@@ -0,0 +1,121 @@
+package de.htw.berlin.todo_app_backend.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.htw.berlin.todo_app_backend.TodoAppBackendApplication;
+import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.service.ToDoEntryService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: gradle loadTest [-Dload.concurrency=400 -Dload.requests=25]
+@Tag("load")
+class ThreadingModeLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests", 25);
+    private static final int SEEDED_TODOS = 500;
+    private static final Path REPORT = Path.of("build", "reports", "load", "threading-modes.json");
+
+    record Result(String mode, int requests, int errors, int rejected, double requestsPerSecond,
+                  double p50Millis, double p99Millis) {
+    }
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        List<Result> results = List.of(run(false), run(true));
+
+        results.forEach(result -> System.out.printf("%-8s requests=%d errors=%d rejected=%d throughput=%.1f req/s p50=%.1f ms p99=%.1f ms%n",
+                result.mode(), result.requests(), result.errors(), result.rejected(),
+                result.requestsPerSecond(), result.p50Millis(), result.p99Millis()));
+        Files.createDirectories(REPORT.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), results);
+
+        assertThat(results).allSatisfy(result -> assertThat(result.errors()).isZero());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(TodoAppBackendApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN")) {
+            seed(app.getBean(ToDoEntryService.class));
+            URI uri = URI.create("http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/todos?limit=50");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            fire(client, uri, 50, 4, new long[200], new AtomicInteger(), new AtomicInteger(), new AtomicInteger());
+
+            int total = CONCURRENCY * REQUESTS_PER_CLIENT;
+            long[] latencies = new long[total];
+            AtomicInteger index = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            long start = System.nanoTime();
+            fire(client, uri, CONCURRENCY, REQUESTS_PER_CLIENT, latencies, index, errors, rejected);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            return new Result(virtualThreads ? "virtual" : "platform", total, errors.get(), rejected.get(),
+                    total / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99));
+        }
+    }
+
+    private void fire(HttpClient client, URI uri, int clients, int requestsPerClient, long[] latencies,
+                      AtomicInteger index, AtomicInteger errors, AtomicInteger rejected) {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                executor.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 503) {
+                                rejected.incrementAndGet();
+                            } else if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException | InterruptedException ex) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index.getAndIncrement() % latencies.length] = System.nanoTime() - begin;
+                    }
+                });
+            }
+        }
+    }
+
+    private void seed(ToDoEntryService service) {
+        List<ToDoEntry> entries = new ArrayList<>(SEEDED_TODOS);
+        for (int i = 0; i < SEEDED_TODOS; i++) {
+            ToDoEntry entry = new ToDoEntry();
+            entry.setTitle("Load " + i);
+            entries.add(entry);
+        }
+        service.createAll(entries);
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int position = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(position, 0)] / 1e6;
+    }
+}
@@ -1,19 +1,30 @@
 package de.htw.berlin.todo_app_backend.service;
 
 import de.htw.berlin.todo_app_backend.domain.Category;
+import de.htw.berlin.todo_app_backend.dto.CategoryDTO;
+import de.htw.berlin.todo_app_backend.mapper.CategoryMapper;
 import de.htw.berlin.todo_app_backend.repository.CategoryRepository;
+import de.htw.berlin.todo_app_backend.repository.ChangeSequence;
 import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,20 +37,31 @@ class CategoryServiceTest {
     @Mock
     private ToDoEntryRepository todoEntryRepository;
 
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoryService service;
 
+    @Spy
+    private CategoryMapper categoryMapper = Mappers.getMapper(CategoryMapper.class);
+
     @Test
-    void getAll_returnsEntriesFromRepository() {
+    void getAll_returnsDtosOfTheRepositoryEntries() {
         Category category = new Category();
+        category.setId(4L);
         category.setName("Home");
         category.setColorHex("#FFFFFF");
-        List<Category> categories = List.of(category);
-        when(repo.findAllByOrderByIdDesc()).thenReturn(categories);
+        category.setVersion(2L);
+        when(repo.findAllByOrderByIdDesc()).thenReturn(List.of(category));
 
-        Iterable<Category> result = service.getAll();
+        List<CategoryDTO> result = service.getAll();
 
-        assertThat(result).containsExactly(category);
+        assertThat(result).containsExactly(new CategoryDTO(4L, "Home", "#FFFFFF", 2L));
+        assertThatThrownBy(result::clear).isInstanceOf(UnsupportedOperationException.class);
         verify(repo).findAllByOrderByIdDesc();
     }
 
@@ -47,11 +69,12 @@ class CategoryServiceTest {
     void getById_returnsCategoryWhenPresent() {
         Category category = new Category();
         category.setId(12L);
+        category.setName("Work");
         when(repo.findById(12L)).thenReturn(Optional.of(category));
 
-        Category result = service.getById(12L);
+        CategoryDTO result = service.getById(12L);
 
-        assertThat(result).isSameAs(category);
+        assertThat(result).isEqualTo(new CategoryDTO(12L, "Work", null, null));
         verify(repo).findById(12L);
     }
 
@@ -78,10 +101,39 @@ class CategoryServiceTest {
     }
 
     @Test
-    void delete_delegatesToRepository() {
-        service.delete(5L);
+    void delete_unlinksTodosAndKeepsTombstone() {
+        Category category = new Category();
+        category.setId(5L);
+        when(repo.lockById(5L)).thenReturn(Optional.of(category));
+        when(changeSequence.next()).thenReturn(42L);
+
+        service.delete(5L, null);
+
+        verify(todoEntryRepository).clearCategoryFromTodos(5L, 42L);
+        verify(repo, never()).deleteById(any());
+        assertThat(category.isDeleted()).isTrue();
+        verify(eventPublisher).publishEvent(TodoChangedEvent.categoryDeleted(5L));
+    }
+
+    @Test
+    void delete_ignoresMissingCategoryWithoutVersion() {
+        when(repo.lockById(5L)).thenReturn(Optional.empty());
+
+        service.delete(5L, null);
+
+        verify(todoEntryRepository, never()).clearCategoryFromTodos(any(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void delete_publishesOnlyTheCategoryForUnlinkedTodos() {
+        when(repo.lockById(5L)).thenReturn(Optional.of(new Category()));
+        when(todoEntryRepository.clearCategoryFromTodos(eq(5L), anyLong())).thenReturn(2);
+
+        service.delete(5L, null);
 
-        verify(todoEntryRepository).clearCategoryFromTodos(5L);
-        verify(repo).deleteById(5L);
+        verify(eventPublisher).publishEvent(TodoChangedEvent.categoryDeleted(5L));
+        verify(eventPublisher, times(1)).publishEvent(any(TodoChangedEvent.class));
+        verify(todoEntryRepository).countStatsGroupsByChangeSeq(anyLong());
     }
 }
@@ -1,12 +1,26 @@
 package de.htw.berlin.todo_app_backend.service;
 
+import de.htw.berlin.todo_app_backend.domain.Category;
 import de.htw.berlin.todo_app_backend.domain.ToDoEntry;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryFilterDTO;
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryPatchDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import de.htw.berlin.todo_app_backend.enums.TodoChangeType;
+import de.htw.berlin.todo_app_backend.exception.CategoryNotFoundException;
+import de.htw.berlin.todo_app_backend.exception.InvalidSortException;
+import de.htw.berlin.todo_app_backend.repository.ChangeSequence;
 import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
@@ -15,6 +29,8 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -24,6 +40,15 @@ class ToDoEntryServiceTest {
     @Mock
     private ToDoEntryRepository repo;
 
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ToDoEntryService service;
 
@@ -40,6 +65,62 @@ class ToDoEntryServiceTest {
         verify(repo).findAllByOrderByIdDesc();
     }
 
+    @Test
+    void getAllDtos_returnsUnarchivedProjectionFromRepository() {
+        ToDoEntryDTO dto = new ToDoEntryDTO();
+        dto.setTitle("First");
+        when(repo.findUnarchivedDtos()).thenReturn(List.of(dto));
+
+        List<ToDoEntryDTO> result = service.getAllDtos(false);
+
+        assertThat(result).containsExactly(dto);
+        verify(repo).findUnarchivedDtos();
+    }
+
+    @Test
+    void getAllDtos_includesArchivedOnRequest() {
+        ToDoEntryDTO dto = new ToDoEntryDTO();
+        dto.setTitle("First");
+        when(repo.findAllDtos()).thenReturn(List.of(dto));
+
+        List<ToDoEntryDTO> result = service.getAllDtos(true);
+
+        assertThat(result).containsExactly(dto);
+        verify(repo).findAllDtos();
+    }
+
+    @Test
+    void getDtoPage_startsFromTopWithoutCursor() {
+        ToDoEntryDTO dto = new ToDoEntryDTO();
+        dto.setTitle("First");
+        when(repo.findUnarchivedDtosBelowId(Long.MAX_VALUE, Limit.of(11))).thenReturn(List.of(dto));
+
+        List<ToDoEntryDTO> result = service.getDtoPage(null, 11, false);
+
+        assertThat(result).containsExactly(dto);
+        verify(repo).findUnarchivedDtosBelowId(Long.MAX_VALUE, Limit.of(11));
+    }
+
+    @Test
+    void getDtoPage_seeksBelowCursor() {
+        when(repo.findUnarchivedDtosBelowId(40L, Limit.of(5))).thenReturn(List.of());
+
+        List<ToDoEntryDTO> result = service.getDtoPage(40L, 5, false);
+
+        assertThat(result).isEmpty();
+        verify(repo).findUnarchivedDtosBelowId(40L, Limit.of(5));
+    }
+
+    @Test
+    void getDtoPage_includesArchivedOnRequest() {
+        when(repo.findDtosBelowId(40L, Limit.of(5))).thenReturn(List.of());
+
+        List<ToDoEntryDTO> result = service.getDtoPage(40L, 5, true);
+
+        assertThat(result).isEmpty();
+        verify(repo).findDtosBelowId(40L, Limit.of(5));
+    }
+
     @Test
     void getById_returnsEntryWhenPresent() {
         ToDoEntry entry = new ToDoEntry();
@@ -65,12 +146,16 @@ class ToDoEntryServiceTest {
     void save_delegatesToRepository() {
         ToDoEntry entry = new ToDoEntry();
         entry.setTitle("Save me");
-        when(repo.save(entry)).thenReturn(entry);
+        when(repo.save(entry)).thenAnswer(invocation -> {
+            entry.setId(1L);
+            return entry;
+        });
 
         ToDoEntry result = service.save(entry);
 
         assertThat(result).isSameAs(entry);
         verify(repo).save(entry);
+        verify(eventPublisher).publishEvent(TodoChangedEvent.of(TodoChangeType.CREATED, List.of(1L)));
     }
 
     @Test
@@ -83,19 +168,192 @@ class ToDoEntryServiceTest {
         ToDoEntry entry = new ToDoEntry();
         entry.setId(5L);
         entry.setTitle("Updated");
-        when(repo.save(entry)).thenReturn(entry);
 
         ToDoEntry result = service.save(entry);
 
+        assertThat(result).isSameAs(existing);
+        assertThat(result.getTitle()).isEqualTo("Updated");
         assertThat(result.getCreatedAt()).isEqualTo(existing.getCreatedAt());
         verify(repo).findById(5L);
-        verify(repo).save(entry);
+        verify(repo, never()).save(any());
+    }
+
+    @Test
+    void save_throwsWhenUpdatingMissingEntry() {
+        when(repo.findById(6L)).thenReturn(Optional.empty());
+
+        ToDoEntry entry = new ToDoEntry();
+        entry.setId(6L);
+
+        assertThatThrownBy(() -> service.save(entry))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Todo not found");
+    }
+
+    @Test
+    void save_resolvesChangedCategory() {
+        Category oldCategory = new Category();
+        oldCategory.setId(1L);
+        ToDoEntry existing = new ToDoEntry();
+        existing.setId(5L);
+        existing.setCategory(oldCategory);
+        when(repo.findById(5L)).thenReturn(Optional.of(existing));
+
+        Category newCategory = new Category();
+        newCategory.setId(2L);
+        newCategory.setName("Work");
+        when(categoryService.lockForLinking(2L)).thenReturn(newCategory);
+
+        Category requested = new Category();
+        requested.setId(2L);
+        ToDoEntry entry = new ToDoEntry();
+        entry.setId(5L);
+        entry.setCategory(requested);
+
+        ToDoEntry result = service.save(entry);
+
+        assertThat(result.getCategory()).isSameAs(newCategory);
     }
 
     @Test
-    void delete_delegatesToRepository() {
-        service.delete(7L);
+    void search_rejectsUnknownSortField() {
+        assertThatThrownBy(() -> service.search(new ToDoEntryFilterDTO(), Sort.by("description"), null, Limit.unlimited()))
+                .isInstanceOf(InvalidSortException.class)
+                .hasMessage("Cannot sort by description");
+        verify(repo, never()).findDtos(any(), any(), any());
+    }
+
+    @Test
+    void patch_runsSingleUpdate() {
+        ToDoEntryPatchDTO patch = new ToDoEntryPatchDTO();
+        patch.setDone(true);
+        TodoStatsGroupDTO before = new TodoStatsGroupDTO(null, Priority.LOW, false, null, 1);
+        when(repo.patch(5L, patch, null)).thenReturn(Optional.of(before));
+
+        service.patch(5L, patch, null);
+
+        verify(repo).patch(5L, patch, null);
+        verify(repo, never()).findById(any());
+        verify(repo, never()).lockStatsGroupsByIdIn(any());
+        verify(eventPublisher).publishEvent(TodoChangedEvent.of(TodoChangeType.UPDATED, List.of(5L)));
+        verify(eventPublisher).publishEvent(TodoStatsChangedEvent.changed(List.of(before),
+                List.of(new TodoStatsGroupDTO(null, Priority.LOW, true, null, 1))));
+    }
+
+    @Test
+    void patch_throwsWhenMissing() {
+        ToDoEntryPatchDTO patch = new ToDoEntryPatchDTO();
+        patch.setDone(true);
+        when(repo.patch(9L, patch, null)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.patch(9L, patch, null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Todo not found");
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void patch_refusesADeletedCategory() {
+        ToDoEntryPatchDTO patch = new ToDoEntryPatchDTO();
+        patch.setCategoryId(3L);
+        when(repo.patch(5L, patch, null)).thenReturn(Optional.empty());
+        when(categoryService.lockForLinking(3L)).thenThrow(new CategoryNotFoundException());
+
+        assertThatThrownBy(() -> service.patch(5L, patch, null))
+                .isInstanceOf(CategoryNotFoundException.class);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void patch_throwsOnVersionMismatch() {
+        ToDoEntryPatchDTO patch = new ToDoEntryPatchDTO();
+        patch.setDone(true);
+        when(repo.patch(5L, patch, 2L)).thenReturn(Optional.empty());
+        when(repo.existsById(5L)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.patch(5L, patch, 2L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void delete_keepsTombstone() {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setId(7L);
+        entry.setCategory(new Category());
+        when(repo.findById(7L)).thenReturn(Optional.of(entry));
+
+        service.delete(7L, null);
+
+        assertThat(entry.isDeleted()).isTrue();
+        assertThat(entry.getCategory()).isNull();
+        verify(repo, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(TodoChangedEvent.of(TodoChangeType.DELETED, List.of(7L)));
+    }
+
+    @Test
+    void delete_throwsOnVersionMismatch() {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setVersion(3L);
+        when(repo.findById(7L)).thenReturn(Optional.of(entry));
+
+        assertThatThrownBy(() -> service.delete(7L, 2L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(entry.isDeleted()).isFalse();
+    }
+
+    @Test
+    void createAll_clearsIdsAndSavesAll() {
+        ToDoEntry entry = new ToDoEntry();
+        entry.setId(3L);
+        entry.setTitle("New");
+        ToDoEntry saved = new ToDoEntry();
+        saved.setId(50L);
+        when(repo.saveAll(List.of(entry))).thenReturn(List.of(saved));
+
+        List<ToDoEntry> result = service.createAll(List.of(entry));
+
+        assertThat(result).containsExactly(saved);
+        assertThat(entry.getId()).isNull();
+        verify(eventPublisher).publishEvent(TodoChangedEvent.of(TodoChangeType.CREATED, List.of(50L)));
+    }
+
+    @Test
+    void updateAll_preservesCreatedAt() {
+        ToDoEntry existing = new ToDoEntry();
+        existing.setId(5L);
+        existing.setCreatedAt(OffsetDateTime.now(ZoneId.of("Europe/Berlin")).minusDays(1));
+        when(repo.findAllById(List.of(5L))).thenReturn(List.of(existing));
+
+        ToDoEntry entry = new ToDoEntry();
+        entry.setId(5L);
+        entry.setTitle("Updated");
+
+        List<ToDoEntry> result = service.updateAll(List.of(entry));
+
+        assertThat(result).containsExactly(existing);
+        assertThat(result.get(0).getTitle()).isEqualTo("Updated");
+        assertThat(result.get(0).getCreatedAt()).isEqualTo(existing.getCreatedAt());
+    }
+
+    @Test
+    void updateAll_throwsWhenAnyEntryMissing() {
+        when(repo.findAllById(List.of(8L))).thenReturn(List.of());
+
+        ToDoEntry entry = new ToDoEntry();
+        entry.setId(8L);
+
+        assertThatThrownBy(() -> service.updateAll(List.of(entry)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Todo not found");
+        verify(repo, never()).saveAll(any());
+    }
+
+    @Test
+    void deleteAll_softDeletesInOneStatement() {
+        when(changeSequence.next()).thenReturn(42L);
+
+        service.deleteAll(List.of(1L, 2L));
 
-        verify(repo).deleteById(7L);
+        verify(repo).softDeleteAllById(List.of(1L, 2L), 42L);
     }
 }
@@ -0,0 +1,72 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import de.htw.berlin.todo_app_backend.dto.ToDoEntryDTO;
+import de.htw.berlin.todo_app_backend.enums.TodoChangeType;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TodoChangeFeedTest {
+
+    @Mock
+    private ToDoEntryRepository repo;
+
+    private TodoChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = new TodoChangeFeed(repo, 10, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        changeFeed.subscribe(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.disconnectAll();
+    }
+
+    @Test
+    void onTodoChanged_loadsSnapshotsInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().toList();
+        when(repo.findDtosByIdIn(anyCollection())).thenReturn(List.of());
+
+        changeFeed.onTodoChanged(TodoChangedEvent.of(TodoChangeType.UPDATED, ids));
+
+        verify(repo, times(2)).findDtosByIdIn(argThat(chunk -> chunk.size() == 500));
+        verify(repo).findDtosByIdIn(argThat(chunk -> chunk.size() == 200));
+    }
+
+    @Test
+    void onTodoChanged_dropsASnapshotOlderThanTheOneSent_andReloadsIt() {
+        when(repo.findDtosByIdIn(List.of(1L)))
+                .thenReturn(List.of(todo(3L)))
+                .thenReturn(List.of(todo(2L)))
+                .thenReturn(List.of(todo(3L)));
+
+        // As if a later update had been sequenced first: the first event carries version 3, the second version 2
+        changeFeed.onTodoChanged(TodoChangedEvent.of(TodoChangeType.UPDATED, List.of(1L)));
+        changeFeed.onTodoChanged(TodoChangedEvent.of(TodoChangeType.UPDATED, List.of(1L)));
+
+        // The stale one is sent without a snapshot, so the subscriber loads the current state
+        verify(repo, timeout(1000).times(3)).findDtosByIdIn(List.of(1L));
+    }
+
+    private static ToDoEntryDTO todo(Long version) {
+        return new ToDoEntryDTO(1L, "Todo", null, false, null, null, null, version, null, null, null, null);
+    }
+}
@@ -0,0 +1,110 @@
+package de.htw.berlin.todo_app_backend.service;
+
+import de.htw.berlin.todo_app_backend.dto.TodoStatsDTO;
+import de.htw.berlin.todo_app_backend.dto.TodoStatsGroupDTO;
+import de.htw.berlin.todo_app_backend.enums.Priority;
+import de.htw.berlin.todo_app_backend.repository.ToDoEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TodoStatsTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Mock
+    private ToDoEntryRepository repo;
+
+    private final MutableClock clock = new MutableClock(MONDAY.atStartOfDay().toInstant(ZoneOffset.UTC));
+    private SimpleMeterRegistry registry;
+    private TodoStats stats;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        stats = new TodoStats(repo, registry, clock);
+    }
+
+    @Test
+    void openTodos_becomeOverdueOnceTheirDueDateHasPassed() {
+        when(repo.countStatsGroups(any(), any())).thenReturn(List.of());
+        assertThat(stats.getStats().getOpen()).isZero();
+        TodoStatsGroupDTO dueTuesday = new TodoStatsGroupDTO(1L, Priority.HIGH, false, MONDAY.plusDays(1), 1);
+        stats.onStatsChanged(new TodoStatsChangedEvent(List.of(), List.of(dueTuesday)));
+
+        assertThat(stats.getStats().getOverdue()).isZero();
+
+        clock.advance(Duration.ofDays(1));
+        assertThat(stats.getStats().getOverdue()).isZero();
+
+        clock.advance(Duration.ofDays(1));
+        TodoStatsDTO wednesday = stats.getStats();
+        assertThat(wednesday.getDate()).isEqualTo(MONDAY.plusDays(2));
+        assertThat(wednesday.getOpen()).isEqualTo(1);
+        assertThat(wednesday.getOverdue()).isEqualTo(1);
+        assertThat(wednesday.getCategories().get(0).getOverdue()).isEqualTo(1);
+
+        // Taken out again after the day passed, it leaves the overdue count it was folded into
+        stats.onStatsChanged(TodoStatsChangedEvent.deleted(List.of(dueTuesday)));
+        assertThat(stats.getStats().getOpen()).isZero();
+        assertThat(stats.getStats().getOverdue()).isZero();
+    }
+
+    @Test
+    void recount_replacesDriftedCountersAndCountsTheDrift() {
+        when(repo.countStatsGroups(MONDAY, MONDAY.minusDays(1)))
+                .thenReturn(List.of(new TodoStatsGroupDTO(null, Priority.LOW, true, null, 3)))
+                .thenReturn(List.of(new TodoStatsGroupDTO(null, Priority.LOW, true, null, 5)));
+
+        assertThat(stats.recount()).isFalse();
+        assertThat(stats.getStats().getDone()).isEqualTo(3);
+
+        assertThat(stats.recount()).isTrue();
+        assertThat(stats.getStats().getDone()).isEqualTo(5);
+        assertThat(registry.get("todo.stats.drift").counter().count()).isEqualTo(1);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+-- H2 tests let Hibernate create the tables; the sequence below is the one part of db/migration it cannot derive
+-- Shared by to_do_entry and category; the increment matches ChangeSequence.ALLOCATION_SIZE
+create sequence if not exists change_seq start with 1 increment by 50;
+-- Not an entity either; on PostgreSQL it comes from V6 and is unlogged
+create table if not exists todo_import_staging (
+    import_id uuid not null,
+    row_no bigint not null,
+    id bigint not null,
+    title varchar(25) not null,
+    description varchar(200),
+    done boolean not null,
+    due_date date,
+    priority varchar(255),
+    category_id bigint,
+    created_at timestamp with time zone not null,
+    primary key (import_id, row_no)
+);
+-- Not an entity either; on PostgreSQL it comes from V8
+create table if not exists todo_archive_generation (
+    id smallint default 1 primary key check (id = 1),
+    generation bigint not null
+);
+insert into todo_archive_generation (id, generation) select 1, 0 where not exists (select 1 from todo_archive_generation);
@@ -7,12 +7,14 @@ import {vuetifyStubs} from '../../test/vuetify-stubs'
 const mocks = vi.hoisted(() => ({
     getTodos: vi.fn().mockResolvedValue([]),
     addTodo: vi.fn(),
+    subscribeToTodoChanges: vi.fn(() => () => {}),
     getCategories: vi.fn().mockResolvedValue([]),
 }))
 
 vi.mock('../../services/todo-service.ts', () => ({
     getTodos: mocks.getTodos,
     addTodo: mocks.addTodo,
+    subscribeToTodoChanges: mocks.subscribeToTodoChanges,
 }))
 
 vi.mock('../../services/category-service.ts', () => ({
@@ -56,4 +58,27 @@ describe('TodoList', () => {
         expect(vm.filteredTodos).toHaveLength(1)
         expect(vm.filteredTodos[0].title).toBe('High')
     })
+
+    it('applies pushed changes without reloading', async () => {
+        mocks.getTodos.mockResolvedValue([
+            {id: 1, version: 0, title: 'First', done: false},
+            {id: 2, version: 0, title: 'Second', done: false},
+        ])
+        const wrapper = mount(TodoList, {
+            global: {stubs: vuetifyStubs, renderStubDefaultSlot: true},
+        })
+        await flushPromises()
+        mocks.getTodos.mockClear()
+
+        const vm = wrapper.vm as any
+        vm.applyTodoChange({type: 'UPDATED', todoId: 1, todo: {id: 1, version: 1, title: 'First', done: true}})
+        vm.applyTodoChange({type: 'UPDATED', todoId: 1, todo: {id: 1, version: 0, title: 'Stale', done: false}})
+        vm.applyTodoChange({type: 'DELETED', todoId: 2})
+        vm.applyTodoChange({type: 'CREATED', todoId: 3, todo: {id: 3, version: 0, title: 'Third', done: false}})
+
+        expect(vm.todos.map((todo: any) => todo.id)).toEqual([3, 1])
+        expect(vm.todos[1].done).toBe(true)
+        expect(mocks.getTodos).not.toHaveBeenCalled()
+        expect(mocks.subscribeToTodoChanges).toHaveBeenCalledTimes(1)
+    })
 })
@@ -1,5 +1,6 @@
 export interface Category {
     id?: number;
+    version?: number;
     name?: string;
     colorHex?: string;
 }
@@ -3,6 +3,7 @@ import type {PriorityEnum} from "@/domain/priority.enum.ts";
 
 export interface TodoEntry {
     id?: number;
+    version?: number;
     title?: string;
     description?: string;
     done?: boolean;
@@ -1,4 +1,5 @@
 import { createApp } from 'vue'
+import axios from 'axios'
 import App from './App.vue'
 import router from './router'
 
@@ -8,6 +9,9 @@ import { VDateInput } from 'vuetify/labs/VDateInput'
 import { de } from 'vuetify/locale'
 import '@mdi/font/css/materialdesignicons.css'
 
+// Sends the backend's read-your-writes cookie along, so reads right after a write see it
+axios.defaults.withCredentials = true
+
 const vuetify = createVuetify({
     components: {
         VDateInput,
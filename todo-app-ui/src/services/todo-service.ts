@@ -21,3 +21,22 @@ export async function updateTodo(todo: TodoEntry) {
 export async function deleteTodo(id: number) {
     await axios.delete(`${API_URL}/${id}`)
 }
+
+export type TodoChangeType = 'CREATED' | 'UPDATED' | 'DELETED' | 'CATEGORY_DELETED' | 'RESET'
+
+export interface TodoChange {
+    type: TodoChangeType;
+    todoId?: number;
+    categoryId?: number;
+    todo?: TodoEntry;
+}
+
+// EventSource reconnects on its own and sends Last-Event-ID, so the backend replays what was missed
+export function subscribeToTodoChanges(onChange: (change: TodoChange) => void) {
+    const source = new EventSource(`${API_URL}/changes`)
+    const types: TodoChangeType[] = ['CREATED', 'UPDATED', 'DELETED', 'CATEGORY_DELETED', 'RESET']
+    types.forEach((type) => source.addEventListener(type, (event) => {
+        onChange(JSON.parse((event as MessageEvent).data))
+    }))
+    return () => source.close()
+}